@@ -0,0 +1,94 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code ScanPathToken} deep scans ({@code ..}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeepScanBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Documents size;
+
+    private Configuration configuration;
+    private Configuration pathListConfiguration;
+    private Object document;
+
+    private final JsonPath property = JsonPath.compile("$..author");
+    private final JsonPath nestedProperty = JsonPath.compile("$..meta.pages");
+    private final JsonPath wildcard = JsonPath.compile("$..ratings[*]");
+    private final JsonPath filter = JsonPath.compile("$..book[?(@.price > 40)].title");
+    private final JsonPath aggregate = JsonPath.compile("$..price.sum()");
+
+    @Setup
+    public void setUp() {
+        configuration = Configuration.defaultConfiguration();
+        pathListConfiguration = configuration.addOptions(Option.AS_PATH_LIST);
+        document = configuration.jsonProvider().parse(size.json());
+    }
+
+    @Benchmark
+    public Object scanProperty() {
+        return property.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object scanPropertyAsPathList() {
+        return property.read(document, pathListConfiguration);
+    }
+
+    @Benchmark
+    public Object scanNestedProperty() {
+        return nestedProperty.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object scanWildcard() {
+        return wildcard.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object scanFilter() {
+        return filter.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object scanAggregate() {
+        return aggregate.read(document, configuration);
+    }
+}
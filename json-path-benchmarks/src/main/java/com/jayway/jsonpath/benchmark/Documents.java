@@ -0,0 +1,89 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import java.util.Random;
+
+/**
+ * Deterministic JSON documents used by the benchmarks.
+ *
+ * All documents share the shape of the "store" document used throughout the JsonPath documentation so that the
+ * same paths can be evaluated against every size.
+ */
+public enum Documents {
+
+    /**
+     * A handful of books, well below one kilobyte.
+     */
+    SMALL(4),
+
+    /**
+     * A few hundred books, roughly 100 kilobytes.
+     */
+    MEDIUM(500),
+
+    /**
+     * Tens of thousands of books, several megabytes.
+     */
+    LARGE(25000);
+
+    private static final String[] CATEGORIES = {"reference", "fiction", "poetry", "science", "history"};
+    private static final String[] AUTHORS = {"Nigel Rees", "Evelyn Waugh", "Herman Melville", "J. R. R. Tolkien",
+            "Ursula K. Le Guin", "Italo Calvino", "Toni Morrison", "Jorge Luis Borges"};
+
+    private final int bookCount;
+    private String json;
+
+    Documents(int bookCount) {
+        this.bookCount = bookCount;
+    }
+
+    public int bookCount() {
+        return bookCount;
+    }
+
+    public synchronized String json() {
+        if (json == null) {
+            json = generate(bookCount);
+        }
+        return json;
+    }
+
+    private static String generate(int bookCount) {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(bookCount * 256);
+        sb.append("{\"store\":{\"book\":[");
+        for (int i = 0; i < bookCount; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i)
+                    .append(",\"category\":\"").append(CATEGORIES[random.nextInt(CATEGORIES.length)]).append('"')
+                    .append(",\"author\":\"").append(AUTHORS[random.nextInt(AUTHORS.length)]).append('"')
+                    .append(",\"title\":\"Title ").append(i).append('"');
+            if (random.nextBoolean()) {
+                sb.append(",\"isbn\":\"0-").append(100000 + random.nextInt(900000)).append('"');
+            }
+            sb.append(",\"price\":").append(random.nextInt(5000) / 100.0)
+                    .append(",\"tags\":[\"t").append(random.nextInt(10)).append("\",\"t").append(random.nextInt(10)).append("\"]")
+                    .append(",\"meta\":{\"pages\":").append(50 + random.nextInt(950))
+                    .append(",\"ratings\":[").append(random.nextInt(6)).append(',').append(random.nextInt(6)).append(']')
+                    .append("}}");
+        }
+        sb.append("],\"bicycle\":{\"color\":\"red\",\"price\":19.95}}")
+                .append(",\"expensive\":10}");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Criteria;
+import com.jayway.jsonpath.Filter;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures evaluation of {@code PredicatePathToken}, i.e. inline filters and {@link Filter} placeholders.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilterBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Documents size;
+
+    private Configuration configuration;
+    private Object document;
+
+    private final JsonPath numericComparison = JsonPath.compile("$.store.book[?(@.price < 10)].title");
+    private final JsonPath stringEquality = JsonPath.compile("$.store.book[?(@.category == 'fiction')].title");
+    private final JsonPath exists = JsonPath.compile("$.store.book[?(@.isbn)].title");
+    private final JsonPath logicalAnd = JsonPath.compile("$.store.book[?(@.price < 10 && @.category == 'fiction')].title");
+    private final JsonPath rootReference = JsonPath.compile("$.store.book[?(@.price > $.expensive)].title");
+    private final JsonPath regex = JsonPath.compile("$.store.book[?(@.author =~ /^J.*/)].title");
+    private final JsonPath in = JsonPath.compile("$.store.book[?(@.id in [1, 7, 42, 99, 123, 512, 2048, 4096])].title");
+    private final JsonPath criteria = JsonPath.compile("$.store.book[?].title",
+            Filter.filter(Criteria.where("price").lt(10).and("category").is("fiction")));
+
+    @Setup
+    public void setUp() {
+        configuration = Configuration.defaultConfiguration();
+        document = configuration.jsonProvider().parse(size.json());
+    }
+
+    @Benchmark
+    public Object numericComparison() {
+        return numericComparison.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object stringEquality() {
+        return stringEquality.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object exists() {
+        return exists.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object logicalAnd() {
+        return logicalAnd.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object rootReference() {
+        return rootReference.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object regex() {
+        return regex.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object in() {
+        return in.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object criteria() {
+        return criteria.read(document, configuration);
+    }
+}
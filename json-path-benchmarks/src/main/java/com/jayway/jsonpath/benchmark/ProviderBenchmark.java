@@ -0,0 +1,96 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link com.jayway.jsonpath.spi.json.JsonProvider} implementations on the same set of paths, both with
+ * and without parsing the document.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProviderBenchmark {
+
+    @Param({"JSON_SMART", "JACKSON", "JACKSON_JSON_NODE", "GSON", "JSON_ORG", "JAKARTA", "TAPESTRY", "JETTISON"})
+    public Providers provider;
+
+    @Param({"SMALL", "MEDIUM"})
+    public Documents size;
+
+    private Configuration configuration;
+    private String json;
+    private Object document;
+
+    private final JsonPath definite = JsonPath.compile("$.store.book[3].meta.pages");
+    private final JsonPath wildcard = JsonPath.compile("$.store.book[*].author");
+    private final JsonPath filter = JsonPath.compile("$.store.book[?(@.price < 10)].title");
+    private final JsonPath scan = JsonPath.compile("$..price");
+
+    @Setup
+    public void setUp() {
+        configuration = provider.configuration();
+        json = size.json();
+        document = configuration.jsonProvider().parse(json);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return configuration.jsonProvider().parse(json);
+    }
+
+    @Benchmark
+    public Object parseAndReadDefinite() {
+        return definite.read(configuration.jsonProvider().parse(json), configuration);
+    }
+
+    @Benchmark
+    public Object readDefinite() {
+        return definite.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object readWildcard() {
+        return wildcard.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object readFilter() {
+        return filter.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object readScan() {
+        return scan.read(document, configuration);
+    }
+}
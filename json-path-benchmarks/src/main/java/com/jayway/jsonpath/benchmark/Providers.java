@@ -0,0 +1,87 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.spi.json.GsonJsonProvider;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import com.jayway.jsonpath.spi.json.JakartaJsonProvider;
+import com.jayway.jsonpath.spi.json.JettisonProvider;
+import com.jayway.jsonpath.spi.json.JsonOrgJsonProvider;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import com.jayway.jsonpath.spi.json.TapestryJsonProvider;
+
+/**
+ * The {@link JsonProvider} implementations shipped with JsonPath.
+ */
+public enum Providers {
+
+    JSON_SMART {
+        @Override
+        JsonProvider create() {
+            return new JsonSmartJsonProvider();
+        }
+    },
+    JACKSON {
+        @Override
+        JsonProvider create() {
+            return new JacksonJsonProvider();
+        }
+    },
+    JACKSON_JSON_NODE {
+        @Override
+        JsonProvider create() {
+            return new JacksonJsonNodeJsonProvider();
+        }
+    },
+    GSON {
+        @Override
+        JsonProvider create() {
+            return new GsonJsonProvider();
+        }
+    },
+    JSON_ORG {
+        @Override
+        JsonProvider create() {
+            return new JsonOrgJsonProvider();
+        }
+    },
+    JAKARTA {
+        @Override
+        JsonProvider create() {
+            return new JakartaJsonProvider();
+        }
+    },
+    TAPESTRY {
+        @Override
+        JsonProvider create() {
+            return TapestryJsonProvider.INSTANCE;
+        }
+    },
+    JETTISON {
+        @Override
+        JsonProvider create() {
+            return new JettisonProvider();
+        }
+    };
+
+    abstract JsonProvider create();
+
+    public Configuration configuration() {
+        return Configuration.builder().jsonProvider(create()).build();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link JsonPath#read(Object, Configuration)} with pre-compiled paths on an already parsed document, so
+ * only path evaluation is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Documents size;
+
+    private Configuration configuration;
+    private Object document;
+
+    private final JsonPath definite = JsonPath.compile("$.store.book[3].meta.pages");
+    private final JsonPath definiteRoot = JsonPath.compile("$.expensive");
+    private final JsonPath wildcard = JsonPath.compile("$.store.book[*].author");
+    private final JsonPath slice = JsonPath.compile("$.store.book[1:3].title");
+    private final JsonPath multiProperty = JsonPath.compile("$.store.book[*]['title','price']");
+    private final JsonPath function = JsonPath.compile("$.store.book[*].price.sum()");
+
+    @Setup
+    public void setUp() {
+        configuration = Configuration.defaultConfiguration();
+        document = configuration.jsonProvider().parse(size.json());
+    }
+
+    @Benchmark
+    public Object readDefinite() {
+        return definite.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object readDefiniteRootProperty() {
+        return definiteRoot.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object readWildcard() {
+        return wildcard.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object readSlice() {
+        return slice.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object readMultiProperty() {
+        return multiProperty.read(document, configuration);
+    }
+
+    @Benchmark
+    public Object readFunction() {
+        return function.read(document, configuration);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link JsonPath#set}, {@link JsonPath#delete} and {@link JsonPath#add}.
+ *
+ * The write operations mutate the document, so every invocation gets a freshly parsed copy. The parse happens in an
+ * invocation level setup and is not part of the measured time. The SMALL document is left out because the timer
+ * overhead of invocation level setups dominates on sub-microsecond operations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WriteBenchmark {
+
+    @Param({"MEDIUM", "LARGE"})
+    public Documents size;
+
+    private Configuration configuration;
+    private Object document;
+
+    private final JsonPath setDefinite = JsonPath.compile("$.store.book[3].price");
+    private final JsonPath setIndefinite = JsonPath.compile("$.store.book[*].price");
+    private final JsonPath deleteFiltered = JsonPath.compile("$.store.book[?(@.category == 'poetry')]");
+    private final JsonPath addToArray = JsonPath.compile("$.store.book[*].tags");
+
+    @Setup(Level.Trial)
+    public void setUpConfiguration() {
+        configuration = Configuration.defaultConfiguration();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpDocument() {
+        document = configuration.jsonProvider().parse(size.json());
+    }
+
+    @Benchmark
+    public Object setDefinite() {
+        return setDefinite.set(document, 1.5, configuration);
+    }
+
+    @Benchmark
+    public Object setIndefinite() {
+        return setIndefinite.set(document, 1.5, configuration);
+    }
+
+    @Benchmark
+    public Object deleteFiltered() {
+        return deleteFiltered.delete(document, configuration);
+    }
+
+    @Benchmark
+    public Object addToArray() {
+        return addToArray.add(document, "t10", configuration);
+    }
+}
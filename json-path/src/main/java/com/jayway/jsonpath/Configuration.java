@@ -22,6 +22,7 @@ import com.jayway.jsonpath.spi.transformer.jsonpathtransformer.JsonPathTransform
 
 import java.util.*;
 
+import static com.jayway.jsonpath.internal.Utils.isTrue;
 import static com.jayway.jsonpath.internal.Utils.notNull;
 import static java.util.Arrays.asList;
 
@@ -53,12 +54,14 @@ public class Configuration {
     private final Set<Option> options;
     private final TransformationProvider transformationProvider;
     private final Collection<EvaluationListener> evaluationListeners;
+    private final int parallelThreshold;
 
     private Configuration(JsonProvider jsonProvider,
                           MappingProvider mappingProvider,
                           TransformationProvider transformationProvider,
                           EnumSet<Option> options,
-                          Collection<EvaluationListener> evaluationListeners) {
+                          Collection<EvaluationListener> evaluationListeners,
+                          int parallelThreshold) {
         notNull(jsonProvider, "jsonProvider can not be null");
         notNull(mappingProvider, "mappingProvider can not be null");
         notNull(options, "setOptions can not be null");
@@ -69,6 +72,7 @@ public class Configuration {
         this.options = Collections.unmodifiableSet(options);
         this.evaluationListeners = Collections.unmodifiableCollection(evaluationListeners);
         this.transformationProvider = transformationProvider;
+        this.parallelThreshold = parallelThreshold;
     }
 
 
@@ -78,7 +82,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration addEvaluationListeners(EvaluationListener... evaluationListener){
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).parallelThreshold(parallelThreshold).build();
     }
 
     /**
@@ -87,7 +91,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration setEvaluationListeners(EvaluationListener... evaluationListener){
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).parallelThreshold(parallelThreshold).build();
     }
 
     /**
@@ -104,7 +108,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration jsonProvider(JsonProvider newJsonProvider) {
-        return Configuration.builder().jsonProvider(newJsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(newJsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).parallelThreshold(parallelThreshold).build();
     }
 
     /**
@@ -121,7 +125,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration mappingProvider(MappingProvider newMappingProvider) {
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(newMappingProvider).options(options).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(newMappingProvider).options(options).evaluationListener(evaluationListeners).parallelThreshold(parallelThreshold).build();
     }
 
     /**
@@ -141,7 +145,7 @@ public class Configuration {
         EnumSet<Option> opts = EnumSet.noneOf(Option.class);
         opts.addAll(this.options);
         opts.addAll(asList(options));
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(opts).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(opts).evaluationListener(evaluationListeners).parallelThreshold(parallelThreshold).build();
     }
 
     /**
@@ -150,7 +154,7 @@ public class Configuration {
      * @return the new configuration instance
      */
     public Configuration setOptions(Option... options) {
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).parallelThreshold(parallelThreshold).build();
     }
 
     /**
@@ -170,6 +174,25 @@ public class Configuration {
         return options.contains(option);
     }
 
+    /**
+     * Creates a new configuration evaluating deep scans and wildcards on arrays and objects with at least the given
+     * number of children in parallel, see {@link ConfigurationBuilder#parallelThreshold(int)}.
+     * @param parallelThreshold the number of children, 0 evaluates all paths sequentially
+     * @return a new configuration
+     */
+    public Configuration parallelThreshold(int parallelThreshold) {
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).parallelThreshold(parallelThreshold).build();
+    }
+
+    /**
+     * Returns the number of children from which arrays and objects are scanned in parallel, 0 if paths are
+     * evaluated sequentially
+     * @return the parallel threshold
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
     /**
      * Creates a new configuration based on default values
      * @return a new configuration based on defaults
@@ -206,6 +229,7 @@ public class Configuration {
 
         private EnumSet<Option> options = EnumSet.noneOf(Option.class);
         private Collection<EvaluationListener> evaluationListener = new ArrayList<EvaluationListener>();
+        private int parallelThreshold;
 
         public ConfigurationBuilder jsonProvider(JsonProvider provider) {
             this.jsonProvider = provider;
@@ -244,6 +268,22 @@ public class Configuration {
             return this;
         }
 
+        /**
+         * Deep scans and wildcards evaluate the children of arrays and objects having at least this number of
+         * children in parallel on the common {@link java.util.concurrent.ForkJoinPool}. Results are returned in
+         * document order, as in a sequential evaluation. Evaluation listeners, updates and
+         * {@link Option#CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH} disable parallel evaluation.
+         * Only worth it for very large documents, the default 0 evaluates all paths sequentially.
+         *
+         * @param threshold the number of children, 0 to disable parallel evaluation
+         * @return this builder
+         */
+        public ConfigurationBuilder parallelThreshold(int threshold) {
+            isTrue(threshold >= 0, "parallelThreshold can not be negative");
+            this.parallelThreshold = threshold;
+            return this;
+        }
+
         public Configuration build() {
             if (jsonProvider == null || mappingProvider == null || transformationProvider == null) {
                 final Defaults defaults = getEffectiveDefaults();
@@ -261,7 +301,7 @@ public class Configuration {
             }
             return new Configuration(jsonProvider,
                     mappingProvider, transformationProvider,
-                    options, evaluationListener);
+                    options, evaluationListener, parallelThreshold);
         }
     }
 
@@ -303,6 +343,7 @@ public class Configuration {
         Configuration that = (Configuration) o;
         return jsonProvider.getClass() == that.jsonProvider.getClass() &&
                 mappingProvider.getClass() == that.mappingProvider.getClass() &&
-                Objects.equals(options, that.options);
+                Objects.equals(options, that.options) &&
+                parallelThreshold == that.parallelThreshold;
     }
 }
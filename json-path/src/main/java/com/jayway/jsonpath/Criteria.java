@@ -16,6 +16,9 @@ package com.jayway.jsonpath;
 
 import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.internal.Utils;
+import com.jayway.jsonpath.internal.filter.ExpressionNode;
+import com.jayway.jsonpath.internal.filter.FilterCompiler;
+import com.jayway.jsonpath.internal.filter.LogicalExpressionNode;
 import com.jayway.jsonpath.internal.filter.RelationalExpressionNode;
 import com.jayway.jsonpath.internal.filter.RelationalOperator;
 import com.jayway.jsonpath.internal.filter.ValueNode;
@@ -42,6 +45,7 @@ public class Criteria implements Predicate {
     private ValueNode left;
     private RelationalOperator criteriaType;
     private ValueNode right;
+    private volatile CompiledChain compiledChain;
 
     private Criteria(List<Criteria> criteriaChain, ValueNode left) {
         this.left = left;
@@ -55,12 +59,12 @@ public class Criteria implements Predicate {
 
     @Override
     public boolean apply(PredicateContext ctx) {
-        for (RelationalExpressionNode expressionNode : toRelationalExpressionNodes()) {
-            if(!expressionNode.apply(ctx)){
-                return false;
-            }
+        CompiledChain chain = compiledChain;
+        if (chain == null || !chain.compiledFrom(criteriaChain)) {
+            chain = new CompiledChain(criteriaChain);
+            compiledChain = chain;
         }
-        return true;
+        return chain.predicate.apply(ctx);
     }
 
     @Override
@@ -510,4 +514,45 @@ public class Criteria implements Predicate {
         }
     }
 
+    /**
+     * The criteria of a chain compiled like a filter expression. Criteria can be changed after they were applied, the
+     * chain remembers the parts it was compiled from to tell when it must be compiled again.
+     */
+    private static final class CompiledChain {
+        private final ValueNode[] lefts;
+        private final RelationalOperator[] operators;
+        private final ValueNode[] rights;
+        private final Predicate predicate;
+
+        private CompiledChain(List<Criteria> criteriaChain) {
+            int size = criteriaChain.size();
+            lefts = new ValueNode[size];
+            operators = new RelationalOperator[size];
+            rights = new ValueNode[size];
+            List<ExpressionNode> nodes = new ArrayList<ExpressionNode>(size);
+            int i = 0;
+            for (Criteria criteria : criteriaChain) {
+                lefts[i] = criteria.left;
+                operators[i] = criteria.criteriaType;
+                rights[i] = criteria.right;
+                nodes.add(new RelationalExpressionNode(criteria.left, criteria.criteriaType, criteria.right));
+                i++;
+            }
+            predicate = FilterCompiler.compile(LogicalExpressionNode.createLogicalAnd(nodes));
+        }
+
+        private boolean compiledFrom(List<Criteria> criteriaChain) {
+            if (criteriaChain.size() != lefts.length) {
+                return false;
+            }
+            int i = 0;
+            for (Criteria criteria : criteriaChain) {
+                if (criteria.left != lefts[i] || criteria.criteriaType != operators[i] || criteria.right != rights[i]) {
+                    return false;
+                }
+                i++;
+            }
+            return true;
+        }
+    }
 }
@@ -16,14 +16,19 @@ package com.jayway.jsonpath;
 
 
 import com.jayway.jsonpath.internal.*;
+import com.jayway.jsonpath.internal.path.DocumentIndex;
 import com.jayway.jsonpath.internal.path.PathCompiler;
+import com.jayway.jsonpath.internal.path.StreamingPathEvaluator;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 
 import static com.jayway.jsonpath.Option.ALWAYS_RETURN_LIST;
 import static com.jayway.jsonpath.Option.AS_PATH_LIST;
@@ -175,8 +180,21 @@ public class JsonPath {
      * @param <T>           expected return type
      * @return object(s) matched by the given path
      */
-    @SuppressWarnings("unchecked")
     public <T> T read(Object jsonObject, Configuration configuration) {
+        if (jsonObject instanceof DocumentIndex) {
+            // contexts hand over the index of their document, deep scans and filters are answered from it
+            DocumentIndex documentIndex = (DocumentIndex) jsonObject;
+            return read(documentIndex.document(), configuration, documentIndex);
+        }
+        return read(jsonObject, configuration, null);
+    }
+
+    /**
+     * Applies this JsonPath to the provided json document, answering deep scans from the given index of the
+     * document. The index must have been built for this document and the document must not have been modified since.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T read(Object jsonObject, Configuration configuration, DocumentIndex documentIndex) {
         boolean optAsPathList = configuration.containsOption(AS_PATH_LIST);
         boolean optAlwaysReturnList = configuration.containsOption(Option.ALWAYS_RETURN_LIST);
         boolean optSuppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
@@ -188,20 +206,42 @@ public class JsonPath {
                 }
                 throw new JsonPathException("Options " + AS_PATH_LIST + " and " + ALWAYS_RETURN_LIST + " are not allowed when using path functions!");
             }
-            EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration);
-            if (optSuppressExceptions && evaluationContext.getPathList().isEmpty()) {
+        } else if (!optAsPathList) {
+            Object value = path.readOrEvaluate(jsonObject, configuration, documentIndex);
+            if (value instanceof EvaluationContext) {
+                return resultOf(path, (EvaluationContext) value, configuration);
+            }
+            if (optAlwaysReturnList) {
+                Object array = configuration.jsonProvider().createArray();
+                configuration.jsonProvider().setArrayIndex(array, 0, value);
+                return (T) array;
+            }
+            return (T) value;
+        }
+        return resultOf(path, path.evaluate(jsonObject, jsonObject, configuration, documentIndex), configuration);
+    }
+
+    /**
+     * Builds the result of {@link #read(Object, Configuration)} from the evaluation of a path.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T resultOf(Path path, EvaluationContext evaluationContext, Configuration configuration) {
+        boolean optAsPathList = configuration.containsOption(AS_PATH_LIST);
+        boolean optAlwaysReturnList = configuration.containsOption(Option.ALWAYS_RETURN_LIST);
+        boolean optSuppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
+
+        if (path.isFunctionPath()) {
+            if (optSuppressExceptions && !evaluationContext.hasResults()) {
                 return (T) (path.isDefinite() ? null : configuration.jsonProvider().createArray());
             }
             return evaluationContext.getValue(true);
         } else if (optAsPathList) {
-            EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration);
-            if (optSuppressExceptions && evaluationContext.getPathList().isEmpty()) {
+            if (optSuppressExceptions && !evaluationContext.hasResults()) {
                 return (T) configuration.jsonProvider().createArray();
             }
             return (T) evaluationContext.getPath();
         } else {
-            EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration);
-            if (optSuppressExceptions && evaluationContext.getPathList().isEmpty()) {
+            if (optSuppressExceptions && !evaluationContext.hasResults()) {
                 if (optAlwaysReturnList) {
                     return (T) configuration.jsonProvider().createArray();
                 } else {
@@ -231,7 +271,7 @@ public class JsonPath {
         notNull(jsonObject, "json can not be null");
         notNull(configuration, "configuration can not be null");
         EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration, true);
-        if (evaluationContext.getPathList().isEmpty()) {
+        if (!evaluationContext.hasResults()) {
             boolean optSuppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
             if (optSuppressExceptions) {
                 return handleMissingPathInContext(configuration);
@@ -259,7 +299,7 @@ public class JsonPath {
         notNull(configuration, "configuration can not be null");
         notNull(mapFunction, "mapFunction can not be null");
         EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration, true);
-        if (evaluationContext.getPathList().isEmpty()) {
+        if (!evaluationContext.hasResults()) {
             boolean optSuppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
             if (optSuppressExceptions) {
                 return handleMissingPathInContext(configuration);
@@ -286,7 +326,7 @@ public class JsonPath {
         notNull(jsonObject, "json can not be null");
         notNull(configuration, "configuration can not be null");
         EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration, true);
-        if (evaluationContext.getPathList().isEmpty()) {
+        if (!evaluationContext.hasResults()) {
             boolean optSuppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
             if (optSuppressExceptions) {
                 return handleMissingPathInContext(configuration);
@@ -313,7 +353,7 @@ public class JsonPath {
         notNull(jsonObject, "json can not be null");
         notNull(configuration, "configuration can not be null");
         EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration, true);
-        if (evaluationContext.getPathList().isEmpty()) {
+        if (!evaluationContext.hasResults()) {
             boolean optSuppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
             if (optSuppressExceptions) {
                 return handleMissingPathInContext(configuration);
@@ -342,7 +382,7 @@ public class JsonPath {
         notEmpty(key, "key can not be null or empty");
         notNull(configuration, "configuration can not be null");
         EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration, true);
-        if (evaluationContext.getPathList().isEmpty()) {
+        if (!evaluationContext.hasResults()) {
             boolean optSuppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
             if (optSuppressExceptions) {
                 return handleMissingPathInContext(configuration);
@@ -508,6 +548,81 @@ public class JsonPath {
         }
     }
 
+    /**
+     * Applies this JsonPath to the json read from the provided input stream without parsing the whole document first.
+     * Only the values matched by the path are built, the rest of the document is skipped while it is read.
+     *
+     * Streaming supports properties, non negative array indexes and slices, wildcards and deep scans. Matches are
+     * returned in document order. Evaluation listeners registered on the configuration are notified of every
+     * match and may abort reading. A definite path stops reading at its match, unless the options ask for a list.
+     *
+     * @param jsonInputStream input stream to read from, it is closed when done
+     * @param configuration   configuration to use
+     * @param <T>             expected return type
+     * @return the value for a definite path, otherwise the list of matched values
+     * @throws InvalidPathException if the path uses filters, functions or other constructs that can not be evaluated on a stream
+     */
+    @SuppressWarnings({"unchecked"})
+    public <T> T readStream(InputStream jsonInputStream, Configuration configuration) {
+        notNull(jsonInputStream, "json input stream can not be null");
+        notNull(configuration, "configuration can not be null");
+
+        final boolean optAsPathList = configuration.containsOption(AS_PATH_LIST);
+        final JsonProvider jsonProvider = configuration.jsonProvider();
+        final Collection<EvaluationListener> listeners = configuration.getEvaluationListeners();
+        // a definite path matches once, the rest of the document is not read
+        final boolean singleResult = path.isDefinite() && !optAsPathList && !configuration.containsOption(ALWAYS_RETURN_LIST);
+        final Object results = jsonProvider.createArray();
+        readStream(jsonInputStream, configuration, new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult found) {
+                jsonProvider.setArrayIndex(results, found.index(), optAsPathList ? found.path() : found.result());
+                EvaluationContinuation continuation = singleResult ? EvaluationContinuation.ABORT : EvaluationContinuation.CONTINUE;
+                for (EvaluationListener listener : listeners) {
+                    if (listener.resultFound(found) == EvaluationContinuation.ABORT) {
+                        continuation = EvaluationContinuation.ABORT;
+                    }
+                }
+                return continuation;
+            }
+        });
+
+        if (optAsPathList || !path.isDefinite() || configuration.containsOption(ALWAYS_RETURN_LIST)) {
+            return (T) results;
+        }
+        if (jsonProvider.length(results) == 0) {
+            if (configuration.containsOption(Option.SUPPRESS_EXCEPTIONS)) {
+                return null;
+            }
+            throw new PathNotFoundException("No results for path: " + path.toString());
+        }
+        return (T) jsonProvider.getArrayIndex(results, 0);
+    }
+
+    /**
+     * Applies this JsonPath to the json read from the provided input stream without parsing the whole document first,
+     * notifying the listener of every match. Returning {@link EvaluationListener.EvaluationContinuation#ABORT} from
+     * the listener stops reading. Evaluation listeners registered on the configuration are not notified.
+     *
+     * @param jsonInputStream input stream to read from, it is closed when done
+     * @param configuration   configuration to use
+     * @param listener        listener notified of every match
+     * @throws InvalidPathException if the path uses filters, functions or other constructs that can not be evaluated on a stream
+     * @see #readStream(InputStream, Configuration)
+     */
+    public void readStream(InputStream jsonInputStream, Configuration configuration, EvaluationListener listener) {
+        notNull(jsonInputStream, "json input stream can not be null");
+        notNull(configuration, "configuration can not be null");
+        notNull(listener, "listener can not be null");
+
+        try {
+            StreamingPathEvaluator evaluator = StreamingPathEvaluator.create(path);
+            evaluator.evaluate(new InputStreamReader(jsonInputStream, StandardCharsets.UTF_8), configuration, listener);
+        } finally {
+            Utils.closeQuietly(jsonInputStream);
+        }
+    }
+
     // --------------------------------------------------------
     //
     // Static factory methods
@@ -527,6 +642,18 @@ public class JsonPath {
         return new JsonPath(jsonPath, filters);
     }
 
+    /**
+     * Compiles a set of paths that are read together in one walk of a document, see {@link PathSet}.
+     *
+     * @param jsonPaths the paths to compile
+     * @return compiled PathSet
+     */
+    public static PathSet compileSet(String... jsonPaths) {
+        notNull(jsonPaths, "paths can not be null");
+
+        return new PathSet(jsonPaths);
+    }
+
 
     // --------------------------------------------------------
     //
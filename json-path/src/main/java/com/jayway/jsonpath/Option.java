@@ -116,8 +116,37 @@ public enum Option {
      * </pre>
      *
      */
-     CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH
+     CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH,
 
+    /**
+     * Lets a {@link DocumentContext} index its document the first time a deep scan is read from it, and answer this
+     * and all following deep scans, like "$..author" or "$..[?(@.isbn)]", from the index instead of walking the
+     * document.
+     *
+     * The index is dropped when the document is modified through the context. The document must not be modified
+     * in any other way while the context is used.
+     */
+    INDEX_DEEP_SCANS,
+
+    /**
+     * Lets a {@link DocumentContext} remember the values of root paths referenced in filters, like "$.limit" in
+     * "$.items[?(@.price &lt; $.limit)]", and reuse them in all following reads instead of evaluating them again for
+     * every read. Values are remembered per compiled filter, filters read through the path cache share them.
+     *
+     * The values are dropped when the document is modified through the context. The document must not be modified
+     * in any other way while the context is used.
+     */
+    MEMOIZE_ROOT_PATHS,
+
+    /**
+     * Lets a {@link DocumentContext} index an array by the values one property has in its items the first time a
+     * filter like "$.items[?(@.id == 42)]" or "$.items[?(@.id in [1, 2])]" is read from it, and test only the items
+     * having a matching value in this and all following reads of equality filters on the same array and property.
+     *
+     * The indexes are dropped when the document is modified through the context. The document must not be modified
+     * in any other way while the context is used.
+     */
+    INDEX_EQUALITY_FILTERS
 
 
 }
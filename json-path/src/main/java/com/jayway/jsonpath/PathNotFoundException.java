@@ -14,8 +14,15 @@
  */
 package com.jayway.jsonpath;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
 public class PathNotFoundException extends InvalidPathException {
 
+    private String format;
+    private transient Object[] args;
+    private volatile String message;
+
     public PathNotFoundException() {
     }
 
@@ -31,8 +38,44 @@ public class PathNotFoundException extends InvalidPathException {
         super(cause);
     }
 
+    /**
+     * Creates an exception whose message is only formatted when it is asked for. Evaluation throws these to skip
+     * missing branches and catches most of them again, so most messages are never read.
+     *
+     * @param format message format, see {@link String#format(String, Object...)}
+     * @param args message arguments, converted to strings when the message is formatted. The exception keeps them
+     *             until then, they must not change and must not be parts of the document, like compiled paths,
+     *             path segments and strings
+     * @return the exception
+     */
+    public static PathNotFoundException withLazyMessage(String format, Object... args) {
+        PathNotFoundException exception = new PathNotFoundException();
+        exception.format = format;
+        exception.args = args;
+        return exception;
+    }
+
+    @Override
+    public String getMessage() {
+        if (format == null) {
+            return super.getMessage();
+        }
+        String m = message;
+        if (m == null) {
+            m = String.format(format, args);
+            message = m;
+        }
+        return m;
+    }
+
     @Override
     public synchronized Throwable fillInStackTrace() {
         return this;
     }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        // the arguments are not serialized, the message is formatted before
+        getMessage();
+        out.defaultWriteObject();
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.internal.path.MultiPathEvaluator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.jayway.jsonpath.internal.Utils.notEmpty;
+import static com.jayway.jsonpath.internal.Utils.notNull;
+
+/**
+ * A set of paths read together from a document. The paths are evaluated in one walk of the document, prefixes
+ * shared by several paths, like <code>$.order.items[*]</code>, are evaluated once.
+ * <p/>
+ * <code>
+ * PathSet paths = JsonPath.compileSet("$.order.id", "$.order.items[*].sku", "$.order.items[*].quantity");
+ * <br/>
+ * Map&lt;String, Object&gt; values = JsonPath.parse(json).readAll(paths);
+ * </code>
+ * <p/>
+ * The result of each path is the same as the result of {@link JsonPath#read(Object, Configuration)}, if reading
+ * one of the paths throws, {@link #read(Object, Configuration)} throws the exception of the first such path.
+ * A PathSet is immutable and can be shared between threads.
+ */
+public class PathSet {
+
+    private final List<String> paths;
+    private final JsonPath[] jsonPaths;
+    private final int[] evaluatorIndexes;
+    private final MultiPathEvaluator evaluator;
+
+    PathSet(String... paths) {
+        this.paths = Collections.unmodifiableList(new ArrayList<String>(Arrays.asList(paths)));
+        this.jsonPaths = new JsonPath[paths.length];
+        this.evaluatorIndexes = new int[paths.length];
+        List<String> evaluated = new ArrayList<String>();
+        for (int i = 0; i < paths.length; i++) {
+            notEmpty(paths[i], "path can not be null or empty");
+            jsonPaths[i] = JsonPath.compile(paths[i]);
+            if (jsonPaths[i].isFunctionPath()) {
+                evaluatorIndexes[i] = -1;
+            } else {
+                evaluatorIndexes[i] = evaluated.size();
+                evaluated.add(paths[i]);
+            }
+        }
+        this.evaluator = evaluated.isEmpty() ? null : MultiPathEvaluator.create(evaluated);
+    }
+
+    /**
+     * @return the paths of this set
+     */
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    /**
+     * Reads all paths from the provided json document.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @return the result of each path, by path, in the order of the paths
+     */
+    public Map<String, Object> read(Object jsonObject, Configuration configuration) {
+        notNull(jsonObject, "json can not be null");
+        notNull(configuration, "configuration can not be null");
+
+        Map<String, Object> results = new LinkedHashMap<String, Object>();
+        if (evaluator == null
+                || !configuration.getEvaluationListeners().isEmpty()
+                || configuration.containsOption(Option.CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH)) {
+            // listeners see the results of each path in turn, and creating missing properties changes the document
+            for (int i = 0; i < jsonPaths.length; i++) {
+                results.put(paths.get(i), jsonPaths[i].read(jsonObject, configuration));
+            }
+            return results;
+        }
+        MultiPathEvaluator.Results evaluation = evaluator.evaluate(jsonObject, configuration);
+        for (int i = 0; i < jsonPaths.length; i++) {
+            int index = evaluatorIndexes[i];
+            Object result;
+            if (index == -1) {
+                result = jsonPaths[i].read(jsonObject, configuration);
+            } else {
+                result = JsonPath.resultOf(evaluator.getPath(index), evaluation.get(index), configuration);
+            }
+            results.put(paths.get(i), result);
+        }
+        return results;
+    }
+
+    @Override
+    public String toString() {
+        return paths.toString();
+    }
+}
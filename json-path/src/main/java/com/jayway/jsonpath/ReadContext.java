@@ -14,6 +14,9 @@
  */
 package com.jayway.jsonpath;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public interface ReadContext {
 
     /**
@@ -107,6 +110,21 @@ public interface ReadContext {
      */
     <T> T read(String path, TypeRef<T> typeRef);
 
+    /**
+     * Reads all paths of the given set from this context. This implementation reads the paths one at a time,
+     * {@link com.jayway.jsonpath.internal.JsonContext} reads them in one walk of the document.
+     *
+     * @param paths paths to read
+     * @return the result of each path, by path
+     */
+    default Map<String, Object> readAll(PathSet paths) {
+        Map<String, Object> results = new LinkedHashMap<String, Object>();
+        for (String path : paths.getPaths()) {
+            results.put(path, read(path));
+        }
+        return results;
+    }
+
     /**
      * Stops evaluation when maxResults limit has been reached
      * @param maxResults
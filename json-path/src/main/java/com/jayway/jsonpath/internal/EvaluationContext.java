@@ -68,6 +68,13 @@ public interface EvaluationContext {
      */
     List<String> getPathList();
 
+    /**
+     * Checks if the evaluation found anything without rendering the result paths like {@link #getPathList()} does
+     *
+     * @return true if there is at least one result
+     */
+    boolean hasResults();
+
     Collection<PathRef> updateOperations();
 
 }
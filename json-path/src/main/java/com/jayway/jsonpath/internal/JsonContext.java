@@ -20,17 +20,21 @@ import com.jayway.jsonpath.EvaluationListener;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.MapFunction;
 import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.PathSet;
 import com.jayway.jsonpath.Predicate;
 import com.jayway.jsonpath.ReadContext;
 import com.jayway.jsonpath.TypeRef;
+import com.jayway.jsonpath.internal.path.DocumentIndex;
 import com.jayway.jsonpath.spi.cache.Cache;
 import com.jayway.jsonpath.spi.cache.CacheProvider;
+import com.jayway.jsonpath.spi.cache.InstrumentedCache;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static com.jayway.jsonpath.JsonPath.compile;
 import static com.jayway.jsonpath.internal.Utils.notEmpty;
@@ -42,6 +46,7 @@ public class JsonContext implements DocumentContext {
 
     private final Configuration configuration;
     private final Object json;
+    private volatile DocumentIndex documentIndex;
 
     JsonContext(Object json, Configuration configuration) {
         notNull(json, "json can not be null");
@@ -85,7 +90,12 @@ public class JsonContext implements DocumentContext {
     @Override
     public <T> T read(JsonPath path) {
         notNull(path, "path can not be null");
-        return path.read(json, configuration);
+        if (!configuration.containsOption(Option.INDEX_DEEP_SCANS) && !configuration.containsOption(Option.MEMOIZE_ROOT_PATHS)
+                && !configuration.containsOption(Option.INDEX_EQUALITY_FILTERS)) {
+            return path.read(json, configuration);
+        }
+        // an index is dropped by functions like append() that modify the document
+        return path.read(documentIndex(), configuration);
     }
 
     @Override
@@ -103,6 +113,12 @@ public class JsonContext implements DocumentContext {
         return convert(read(path), type, configuration);
     }
 
+    @Override
+    public Map<String, Object> readAll(PathSet paths) {
+        notNull(paths, "paths can not be null");
+        return paths.read(json, configuration);
+    }
+
     @Override
     public ReadContext limit(int maxResults) {
         return withListeners(new LimitingEvaluationListener(maxResults));
@@ -128,6 +144,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext set(JsonPath path, Object newValue) {
+        invalidateIndex();
         List<String> modified = path.set(json, newValue, configuration.addOptions(Option.AS_PATH_LIST));
         if (logger.isDebugEnabled()) {
             for (String p : modified) {
@@ -145,6 +162,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext map(JsonPath path, MapFunction mapFunction) {
+        invalidateIndex();
         Object obj = path.map(json, mapFunction, configuration);
         return obj==null ? null:this;
     }
@@ -156,6 +174,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext delete(JsonPath path) {
+        invalidateIndex();
         List<String> modified = path.delete(json, configuration.addOptions(Option.AS_PATH_LIST));
         if (logger.isDebugEnabled()) {
             for (String p : modified) {
@@ -172,6 +191,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext add(JsonPath path, Object value) {
+        invalidateIndex();
         List<String> modified = path.add(json, value, configuration.addOptions(Option.AS_PATH_LIST));
         if (logger.isDebugEnabled()) {
             for (String p : modified) {
@@ -193,6 +213,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext renameKey(JsonPath path, String oldKeyName, String newKeyName) {
+        invalidateIndex();
         List<String> modified = path.renameKey(json, oldKeyName, newKeyName, configuration.addOptions(Option.AS_PATH_LIST));
         if (logger.isDebugEnabled()) {
             for (String p : modified) {
@@ -204,6 +225,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext put(JsonPath path, String key, Object value) {
+        invalidateIndex();
         List<String> modified = path.put(json, key, value, configuration.addOptions(Option.AS_PATH_LIST));
         if (logger.isDebugEnabled()) {
             for (String p : modified) {
@@ -213,13 +235,30 @@ public class JsonContext implements DocumentContext {
         return this;
     }
 
+    private DocumentIndex documentIndex() {
+        DocumentIndex index = documentIndex;
+        if (index == null || !index.isValid()) {
+            index = new DocumentIndex(json, configuration.jsonProvider());
+            documentIndex = index;
+        }
+        return index;
+    }
+
+    private void invalidateIndex() {
+        documentIndex = null;
+    }
+
     private JsonPath pathFromCache(String path, Predicate[] filters) {
         Cache cache = CacheProvider.getCache();
         String cacheKey = filters == null || filters.length == 0
             ? path : Utils.concat(path, Arrays.toString(filters));
         JsonPath jsonPath = cache.get(cacheKey);
         if (jsonPath == null) {
+            long start = System.nanoTime();
             jsonPath = compile(path, filters);
+            if (cache instanceof InstrumentedCache) {
+                ((InstrumentedCache) cache).recordCompileTime(System.nanoTime() - start);
+            }
             cache.put(cacheKey, jsonPath);
         }
         return jsonPath;
@@ -15,6 +15,7 @@
 package com.jayway.jsonpath.internal;
 
 import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.internal.path.DocumentIndex;
 
 /**
  *
@@ -43,6 +44,52 @@ public interface Path {
      */
     EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, boolean forUpdate);
 
+    /**
+     * Evaluates this path for reading, answering deep scans from the given index of the root document
+     *
+     * @param document the json document to apply the path on
+     * @param rootDocument the root json document that started this evaluation
+     * @param configuration configuration to use
+     * @param documentIndex index of the root document, or null
+     * @return EvaluationContext containing results of evaluation
+     */
+    EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, DocumentIndex documentIndex);
+
+    /**
+     * Reads the value of this path without building an {@link EvaluationContext}. This is only possible for paths
+     * made of single properties and array indexes, and only when the document contains the whole path.
+     *
+     * @param document the json document to apply the path on
+     * @param configuration configuration to use
+     * @return the value of the path or {@link com.jayway.jsonpath.spi.json.JsonProvider#UNDEFINED} if the path
+     * must be evaluated
+     */
+    Object readDefinite(Object document, Configuration configuration);
+
+    /**
+     * Reads the value of this path for reading like {@link #readDefinite(Object, Configuration)}, and else evaluates
+     * it like {@link #evaluate(Object, Object, Configuration, DocumentIndex)}. When the document does not contain the
+     * whole path the evaluation continues from the step the document stops containing it, the steps found are not
+     * walked twice.
+     *
+     * @param document the json document to apply the path on, also the root document
+     * @param configuration configuration to use
+     * @param documentIndex index of the document, or null
+     * @return the value of the path, or the {@link EvaluationContext} the path was evaluated into
+     */
+    Object readOrEvaluate(Object document, Configuration configuration, DocumentIndex documentIndex);
+
+    /**
+     * Tells whether this path points to something in the document without evaluating it. Like
+     * {@link #readDefinite(Object, Configuration)} this is only possible for simple paths, here paths made of
+     * single properties only.
+     *
+     * @param document the json document to apply the path on
+     * @param configuration configuration to use
+     * @return whether the path exists in the document, or null if the path must be evaluated to tell
+     */
+    Boolean existsDefinite(Object document, Configuration configuration);
+
     /**
      *
      * @return true id this path is definite
@@ -0,0 +1,166 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.Path;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The part of a filter that selects items by the value of one of their properties, like <code>@.id == 42</code>
+ * or <code>@.id in [1, 2, 3]</code>. An item can only match the filter if one of the keys of its value is among the
+ * keys of the lookup, which lets the items of an array be found through a hash index on the property instead of
+ * testing every item. Keys are coarser than equality, items found through them must still be tested.
+ */
+public final class EqualityLookup {
+
+    private static final Object NULL_KEY = new Object();
+
+    private final ValueNodes.PathNode path;
+    private final Set<Object> keys;
+
+    private EqualityLookup(ValueNodes.PathNode path, Set<Object> keys) {
+        this.path = path;
+        this.keys = Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * @return the lookup selecting the items a compiled filter may match, or null if the filter does not select
+     * items by the value of a property
+     */
+    public static EqualityLookup of(Predicate filter) {
+        Predicate expression = FilterCompiler.expressionOf(filter);
+        if (expression instanceof RelationalExpressionNode) {
+            return of((RelationalExpressionNode) expression);
+        }
+        if (expression instanceof LogicalExpressionNode) {
+            LogicalExpressionNode logical = (LogicalExpressionNode) expression;
+            // an operand can only rule items out on its own if no other operand may fail on them
+            if (logical.getOperator() != LogicalOperator.AND || !logical.isReorderable()) {
+                return null;
+            }
+            for (ExpressionNode operand : logical.operands()) {
+                if (operand instanceof RelationalExpressionNode) {
+                    EqualityLookup lookup = of((RelationalExpressionNode) operand);
+                    if (lookup != null) {
+                        return lookup;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static EqualityLookup of(RelationalExpressionNode expression) {
+        ValueNode left = expression.getLeft();
+        ValueNode right = expression.getRight();
+        switch (expression.getOperator()) {
+            case EQ:
+                if (isProperty(left) && !right.isPathNode()) {
+                    return of(left.asPathNode(), Collections.singletonList(right));
+                } else if (isProperty(right) && !left.isPathNode()) {
+                    return of(right.asPathNode(), Collections.singletonList(left));
+                }
+                return null;
+            case IN:
+                if (!isProperty(left)) {
+                    return null;
+                }
+                if (right.isValueListNode()) {
+                    return of(left.asPathNode(), right.asValueListNode().getNodes());
+                }
+                if (right.isJsonNode()) {
+                    try {
+                        // literals do not depend on the context they are parsed in
+                        ValueNode list = right.asJsonNode().asValueListNode(null);
+                        return list.isValueListNode() ? of(left.asPathNode(), list.asValueListNode().getNodes()) : null;
+                    } catch (RuntimeException e) {
+                        return null;
+                    }
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private static EqualityLookup of(ValueNodes.PathNode path, List<ValueNode> literals) {
+        Set<Object> keys = new HashSet<Object>();
+        for (ValueNode literal : literals) {
+            if (literal.isNumberNode()) {
+                addKeys(literal.asNumberNode(), keys);
+            } else if (literal.isStringNode()) {
+                addKeys(literal.asStringNode(), keys);
+            } else if (literal.isBooleanNode()) {
+                keys.add(literal.asBooleanNode().getBoolean());
+            } else if (literal.isNullNode()) {
+                keys.add(NULL_KEY);
+            } else {
+                return null;
+            }
+        }
+        return new EqualityLookup(path, keys);
+    }
+
+    private static boolean isProperty(ValueNode node) {
+        if (!node.isPathNode() || node.asPathNode().isExistsCheck()) {
+            return false;
+        }
+        Path path = node.asPathNode().getPath();
+        return !path.isRootPath() && path.isDefinite() && !path.isFunctionPath();
+    }
+
+    /**
+     * @return the property path of the lookup, lookups with the same property path can share an index
+     */
+    public String property() {
+        return path.getPath().toString();
+    }
+
+    /**
+     * @return the keys an item's value must have one of for the item to possibly match
+     */
+    public Set<Object> keys() {
+        return keys;
+    }
+
+    /**
+     * Adds the keys of the value the property has for the item of the given context.
+     *
+     * @return false if the value has no keys, the item may match any lookup on the property
+     */
+    public boolean addKeys(Predicate.PredicateContext ctx, Collection<Object> keys) {
+        Object value = path.read(ctx);
+        if (value instanceof Number) {
+            addKeys(ValueNode.createNumberNode((Number) value), keys);
+        } else if (value instanceof String) {
+            addKeys(ValueNode.createStringNode((String) value, false).asStringNode(), keys);
+        } else if (value instanceof Boolean) {
+            keys.add(value);
+        } else if (value == null) {
+            keys.add(NULL_KEY);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    // numbers and strings equal each other by value or by text, depending on which one is compared with the other
+    private static void addKeys(ValueNodes.NumberNode number, Collection<Object> keys) {
+        if (number != ValueNodes.NumberNode.NAN) {
+            keys.add(number.hashKey());
+            keys.add(number.asStringNode().getString());
+        }
+    }
+
+    private static void addKeys(ValueNodes.StringNode string, Collection<Object> keys) {
+        keys.add(string.getString());
+        ValueNodes.NumberNode number = string.asNumberNode();
+        if (number != ValueNodes.NumberNode.NAN) {
+            keys.add(number.hashKey());
+        }
+    }
+}
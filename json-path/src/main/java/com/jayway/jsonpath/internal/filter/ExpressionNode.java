@@ -21,4 +21,27 @@ public abstract class ExpressionNode implements Predicate {
             }
         }
     }
+
+    /**
+     * Compiles the expression into a predicate evaluating it, with everything that does not depend on the evaluated
+     * item resolved up front. The compiled predicate gives the same result as {@link #apply(PredicateContext)}.
+     */
+    Predicate compile() {
+        return this;
+    }
+
+    /**
+     * @return an estimate of the relative cost of evaluating the expression for one item
+     */
+    int cost() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return true if evaluating the expression can neither fail nor have effects, so it can be evaluated before or
+     * after any other such expression without changing the result of a logical expression
+     */
+    boolean isReorderable() {
+        return false;
+    }
 }
@@ -51,7 +51,24 @@ public class FilterCompiler  {
 
     public static Filter compile(String filterString) {
         FilterCompiler compiler = new FilterCompiler(filterString);
-        return new CompiledFilter(compiler.compile());
+        Predicate expression = compiler.compile();
+        return new CompiledFilter(expression, compile(expression));
+    }
+
+    /**
+     * Turns a parsed expression into the predicate a filter evaluates: evaluators are bound and comparisons with
+     * literals are specialized once, instead of being looked up on every evaluated item, and the operands of logical
+     * expressions are ordered cheapest first where that can not change the result.
+     */
+    public static Predicate compile(Predicate expression) {
+        return expression instanceof ExpressionNode ? ((ExpressionNode) expression).compile() : expression;
+    }
+
+    /**
+     * @return the expression a filter compiled from a string was parsed into, or null for any other filter
+     */
+    static Predicate expressionOf(Predicate filter) {
+        return filter instanceof CompiledFilter ? ((CompiledFilter) filter).predicate : null;
     }
 
     private FilterCompiler(String filterString) {
@@ -420,14 +437,16 @@ public class FilterCompiler  {
     private static final class CompiledFilter extends Filter {
 
         private final Predicate predicate;
+        private final Predicate compiled;
 
-        private CompiledFilter(Predicate predicate) {
+        private CompiledFilter(Predicate predicate, Predicate compiled) {
             this.predicate = predicate;
+            this.compiled = compiled;
         }
 
         @Override
         public boolean apply(Predicate.PredicateContext ctx) {
-            return predicate.apply(ctx);
+            return compiled.apply(ctx);
         }
 
         @Override
@@ -1,9 +1,12 @@
 package com.jayway.jsonpath.internal.filter;
 
+import com.jayway.jsonpath.Predicate;
 import com.jayway.jsonpath.internal.Utils;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 public class LogicalExpressionNode extends ExpressionNode {
@@ -85,4 +88,95 @@ public class LogicalExpressionNode extends ExpressionNode {
         }
     }
 
+    @Override
+    Predicate compile() {
+        if (operator == LogicalOperator.NOT) {
+            final Predicate expression = chain.get(0).compile();
+            return new Predicate() {
+                @Override
+                public boolean apply(PredicateContext ctx) {
+                    return !expression.apply(ctx);
+                }
+            };
+        }
+        List<ExpressionNode> ordered = cheapestFirst(chain);
+        final Predicate[] operands = new Predicate[ordered.size()];
+        for (int i = 0; i < operands.length; i++) {
+            operands[i] = ordered.get(i).compile();
+        }
+        if (operator == LogicalOperator.OR) {
+            return new Predicate() {
+                @Override
+                public boolean apply(PredicateContext ctx) {
+                    for (Predicate operand : operands) {
+                        if (operand.apply(ctx)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+            };
+        } else {
+            return new Predicate() {
+                @Override
+                public boolean apply(PredicateContext ctx) {
+                    for (Predicate operand : operands) {
+                        if (!operand.apply(ctx)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+            };
+        }
+    }
+
+    @Override
+    int cost() {
+        long cost = 0;
+        for (ExpressionNode expression : operands()) {
+            cost += expression.cost();
+        }
+        return (int) Math.min(cost, Integer.MAX_VALUE);
+    }
+
+    @Override
+    boolean isReorderable() {
+        for (ExpressionNode expression : operands()) {
+            if (!expression.isReorderable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    List<ExpressionNode> operands() {
+        return operator == LogicalOperator.NOT ? chain.subList(0, 1) : chain;
+    }
+
+    /**
+     * Orders operands so the cheapest are evaluated first and short-circuit the others. Only operands that can be
+     * evaluated in any order are moved, and never past one that can not: an operand that may fail must still fail
+     * whenever it did before.
+     */
+    static List<ExpressionNode> cheapestFirst(List<ExpressionNode> operands) {
+        List<ExpressionNode> ordered = new ArrayList<ExpressionNode>(operands);
+        int start = 0;
+        while (start < ordered.size()) {
+            int end = start;
+            while (end < ordered.size() && ordered.get(end).isReorderable()) {
+                end++;
+            }
+            // a stable sort keeps the written order among operands of equal cost
+            Collections.sort(ordered.subList(start, end), new Comparator<ExpressionNode>() {
+                @Override
+                public int compare(ExpressionNode a, ExpressionNode b) {
+                    return Integer.compare(a.cost(), b.cost());
+                }
+            });
+            start = end + 1;
+        }
+        return ordered;
+    }
+
 }
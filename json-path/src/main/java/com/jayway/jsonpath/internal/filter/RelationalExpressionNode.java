@@ -1,5 +1,7 @@
 package com.jayway.jsonpath.internal.filter;
 
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.Path;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,15 +12,29 @@ public class RelationalExpressionNode extends ExpressionNode {
     private final ValueNode left;
     private final RelationalOperator relationalOperator;
     private final ValueNode right;
+    private final Evaluator evaluator;
 
     public RelationalExpressionNode(ValueNode left, RelationalOperator relationalOperator, ValueNode right) {
         this.left = left;
         this.relationalOperator = relationalOperator;
         this.right = right;
+        this.evaluator = EvaluatorFactory.createEvaluator(relationalOperator);
 
         logger.trace("ExpressionNode {}", toString());
     }
 
+    ValueNode getLeft() {
+        return left;
+    }
+
+    RelationalOperator getOperator() {
+        return relationalOperator;
+    }
+
+    ValueNode getRight() {
+        return right;
+    }
+
     @Override
     public String toString() {
         if(relationalOperator == RelationalOperator.EXISTS){
@@ -39,10 +55,209 @@ public class RelationalExpressionNode extends ExpressionNode {
         if(right.isPathNode()){
             r = right.asPathNode().evaluate(ctx);
         }
-        Evaluator evaluator = EvaluatorFactory.createEvaluator(relationalOperator);
         if(evaluator != null){
             return evaluator.evaluate(l, r, ctx);
         }
         return false;
     }
-}
\ No newline at end of file
+
+    @Override
+    Predicate compile() {
+        if (evaluator == null) {
+            return this;
+        }
+        boolean leftPath = left.isPathNode() && !left.asPathNode().isExistsCheck();
+        boolean rightPath = right.isPathNode() && !right.asPathNode().isExistsCheck();
+        if (leftPath != rightPath && LiteralComparison.supports(relationalOperator, leftPath ? right : left)) {
+            return new LiteralComparison(leftPath ? left.asPathNode() : right.asPathNode(), leftPath, relationalOperator,
+                    leftPath ? right : left, evaluator);
+        }
+        if (relationalOperator == RelationalOperator.REGEX && leftPath != rightPath
+                && (leftPath ? right : left).isPatternNode()) {
+            return new PatternMatch(leftPath ? left.asPathNode() : right.asPathNode(), leftPath,
+                    (leftPath ? right : left).asPatternNode(), evaluator);
+        }
+        return this;
+    }
+
+    @Override
+    int cost() {
+        int cost;
+        switch (relationalOperator) {
+            case IN:
+            case NIN:
+                cost = 2;
+                break;
+            case REGEX:
+                cost = 4;
+                break;
+            default:
+                cost = 1;
+        }
+        for (ValueNode side : new ValueNode[]{left, right}) {
+            if (side.isPathNode()) {
+                // root paths are usually further away from the item than relative ones
+                cost += side.asPathNode().getPath().isRootPath() ? 3 : 1;
+            }
+        }
+        return cost;
+    }
+
+    @Override
+    boolean isReorderable() {
+        if (evaluator == null || !isPlainSide(left) || !isPlainSide(right)) {
+            return false;
+        }
+        switch (relationalOperator) {
+            case EQ:
+            case NE:
+            case TSEQ:
+            case TSNE:
+            case LT:
+            case LTE:
+            case GT:
+            case GTE:
+                return !left.isJsonNode() && !right.isJsonNode() && !left.isValueListNode() && !right.isValueListNode();
+            case EXISTS:
+                return left.isPathNode() && left.asPathNode().isExistsCheck() && right.isBooleanNode();
+            case REGEX:
+                return left.isPatternNode() != right.isPatternNode() && !left.isValueListNode() && !right.isValueListNode();
+            case IN:
+            case NIN:
+                return !left.isJsonNode() && !left.isValueListNode() && isLiteralList(right);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return true for literals and for paths that read one value, neither of which fail when evaluated
+     */
+    private static boolean isPlainSide(ValueNode side) {
+        if (side.isPathNode()) {
+            Path path = side.asPathNode().getPath();
+            return path.isDefinite() && !path.isFunctionPath();
+        }
+        return side.isStringNode() || side.isNumberNode() || side.isBooleanNode() || side.isNullNode()
+                || side.isPatternNode() || side.isJsonNode() || side.isValueListNode();
+    }
+
+    private static boolean isLiteralList(ValueNode side) {
+        if (side.isValueListNode()) {
+            return true;
+        }
+        if (!side.isJsonNode()) {
+            return false;
+        }
+        try {
+            // literals do not depend on the context they are parsed in
+            return side.asJsonNode().isArray(null);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Compares the value of a path with a string or number literal. Values of the literal's own type are compared
+     * directly, without building a value node for them, any other value is handed to the operator's evaluator.
+     */
+    private static final class LiteralComparison implements Predicate {
+        private final ValueNodes.PathNode path;
+        private final boolean pathOnLeft;
+        private final RelationalOperator operator;
+        private final ValueNode literal;
+        private final String literalString;
+        private final ValueNodes.NumberNode literalNumber;
+        private final Evaluator evaluator;
+
+        private LiteralComparison(ValueNodes.PathNode path, boolean pathOnLeft, RelationalOperator operator,
+                                  ValueNode literal, Evaluator evaluator) {
+            this.path = path;
+            this.pathOnLeft = pathOnLeft;
+            this.operator = operator;
+            this.literal = literal;
+            this.literalString = literal.isStringNode() ? literal.asStringNode().getString() : null;
+            this.literalNumber = literal.isNumberNode() ? literal.asNumberNode() : null;
+            this.evaluator = evaluator;
+        }
+
+        static boolean supports(RelationalOperator operator, ValueNode literal) {
+            if (!literal.isStringNode() && !literal.isNumberNode()) {
+                return false;
+            }
+            switch (operator) {
+                case EQ:
+                case TSEQ:
+                case NE:
+                case TSNE:
+                case LT:
+                case LTE:
+                case GT:
+                case GTE:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        public boolean apply(PredicateContext ctx) {
+            Object value = path.read(ctx);
+            if (literalString != null && value instanceof String) {
+                return matches(((String) value).compareTo(literalString));
+            } else if (literalNumber != null && value instanceof Number) {
+                return matches(ValueNodes.NumberNode.compare((Number) value, literalNumber));
+            }
+            ValueNode node = ValueNodes.PathNode.toValueNode(value, ctx);
+            return pathOnLeft ? evaluator.evaluate(node, literal, ctx) : evaluator.evaluate(literal, node, ctx);
+        }
+
+        private boolean matches(int comparison) {
+            int c = pathOnLeft ? comparison : -Integer.signum(comparison);
+            switch (operator) {
+                case EQ:
+                case TSEQ:
+                    return c == 0;
+                case NE:
+                case TSNE:
+                    return c != 0;
+                case LT:
+                    return c < 0;
+                case LTE:
+                    return c <= 0;
+                case GT:
+                    return c > 0;
+                default:
+                    return c >= 0;
+            }
+        }
+    }
+
+    /**
+     * Matches the value of a path with a pattern. String values are matched directly, without building a value node
+     * for them, any other value is handed to the regex evaluator.
+     */
+    private static final class PatternMatch implements Predicate {
+        private final ValueNodes.PathNode path;
+        private final boolean pathOnLeft;
+        private final ValueNodes.PatternNode pattern;
+        private final Evaluator evaluator;
+
+        private PatternMatch(ValueNodes.PathNode path, boolean pathOnLeft, ValueNodes.PatternNode pattern, Evaluator evaluator) {
+            this.path = path;
+            this.pathOnLeft = pathOnLeft;
+            this.pattern = pattern;
+            this.evaluator = evaluator;
+        }
+
+        @Override
+        public boolean apply(PredicateContext ctx) {
+            Object value = path.read(ctx);
+            if (value instanceof String) {
+                return pattern.matches((String) value);
+            }
+            ValueNode node = ValueNodes.PathNode.toValueNode(value, ctx);
+            return pathOnLeft ? evaluator.evaluate(node, pattern, ctx) : evaluator.evaluate(pattern, node, ctx);
+        }
+    }
+}
@@ -171,7 +171,7 @@ public abstract class ValueNode {
         else if(isJson(o)) return createJsonNode(o.toString());
         else if(o instanceof String) return createStringNode(o.toString(), true);
         else if(o instanceof Character) return createStringNode(o.toString(), false);
-        else if(o instanceof Number) return createNumberNode(o.toString());
+        else if(o instanceof Number) return createNumberNode((Number) o);
         else if(o instanceof Boolean) return createBooleanNode(o.toString());
         else if(o instanceof Pattern) return createPatternNode((Pattern)o);
         else if (o instanceof OffsetDateTime) return createOffsetDateTimeNode(o.toString());  //workaround for issue: https://github.com/json-path/JsonPath/issues/613
@@ -191,6 +191,10 @@ public abstract class ValueNode {
         return new NumberNode(charSequence);
     }
 
+    public static NumberNode createNumberNode(Number number){
+        return new NumberNode(number);
+    }
+
     public static BooleanNode createBooleanNode(CharSequence charSequence){
         return Boolean.parseBoolean(charSequence.toString()) ? TRUE : FALSE;
     }
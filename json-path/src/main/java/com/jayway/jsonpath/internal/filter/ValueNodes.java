@@ -41,9 +41,19 @@ public interface ValueNodes {
     //
     //----------------------------------------------------
     class PatternNode extends ValueNode {
+        private static final int GENERAL = 0;
+        private static final int EXACT = 1;
+        private static final int PREFIX = 2;
+        private static final int SUFFIX = 3;
+        private static final int CONTAINS = 4;
+
         private final String pattern;
         private final Pattern compiledPattern;
         private final String flags;
+        // patterns that are a literal, optionally preceded or followed by ".*", are matched without a Matcher
+        private final int kind;
+        private final String literal;
+        private final boolean dotAll;
 
         PatternNode(CharSequence charSequence) {
             String tmp = charSequence.toString();
@@ -53,14 +63,103 @@ public interface ValueNodes {
             int flagsIndex = end + 1;
             this.flags = tmp.length() > flagsIndex ? tmp.substring(flagsIndex) : "";
             this.compiledPattern = Pattern.compile(pattern, PatternFlag.parseFlags(flags.toCharArray()));
+            this.dotAll = compiledPattern.flags() == Pattern.DOTALL;
+            this.literal = compiledPattern.flags() == 0 || dotAll ? literalOf(pattern) : null;
+            this.kind = kindOf(pattern, literal);
         }
 
         PatternNode(Pattern pattern) {
             this.pattern = pattern.pattern();
             this.compiledPattern = pattern;
             this.flags = PatternFlag.parseFlags(pattern.flags());
+            this.dotAll = pattern.flags() == Pattern.DOTALL;
+            this.literal = pattern.flags() == 0 || dotAll ? literalOf(this.pattern) : null;
+            this.kind = kindOf(this.pattern, literal);
+        }
+
+        /**
+         * @return true if the pattern matches the entire input
+         */
+        boolean matches(String input) {
+            switch (kind) {
+                case EXACT:
+                    return input.equals(literal);
+                case PREFIX:
+                    return input.startsWith(literal) && (dotAll || !hasLineTerminator(input));
+                case SUFFIX:
+                    return input.endsWith(literal) && (dotAll || !hasLineTerminator(input));
+                case CONTAINS:
+                    return input.contains(literal) && (dotAll || !hasLineTerminator(input));
+                default:
+                    return compiledPattern.matcher(input).matches();
+            }
         }
 
+        private static int kindOf(String pattern, String literal) {
+            if (literal == null) {
+                return GENERAL;
+            }
+            String body = stripAnchors(pattern);
+            boolean leading = body.startsWith(".*");
+            boolean trailing = body.length() >= (leading ? 4 : 2) && body.endsWith(".*") && !body.endsWith("\\.*");
+            if (leading && trailing) {
+                return CONTAINS;
+            }
+            return leading ? SUFFIX : trailing ? PREFIX : EXACT;
+        }
+
+        /**
+         * @return the text a pattern like "^ORD-.*" or ".*-ORD" matches around its wildcards, or null if the pattern
+         * is anything else
+         */
+        private static String literalOf(String pattern) {
+            String body = stripAnchors(pattern);
+            int from = body.startsWith(".*") ? 2 : 0;
+            int to = body.length();
+            if (to - from >= 2 && body.endsWith(".*") && !body.endsWith("\\.*")) {
+                to -= 2;
+            }
+            StringBuilder sb = new StringBuilder(to - from);
+            for (int i = from; i < to; i++) {
+                char c = body.charAt(i);
+                if (c == '\\') {
+                    if (i + 1 == to || Character.isLetterOrDigit(body.charAt(i + 1))) {
+                        return null;
+                    }
+                    c = body.charAt(++i);
+                } else if ("^$.|?*+()[]{}".indexOf(c) >= 0) {
+                    return null;
+                }
+                if (isLineTerminator(c)) {
+                    return null;
+                }
+                sb.append(c);
+            }
+            return sb.toString();
+        }
+
+        // "^" and a final "$" do not change what a pattern matching an entire input matches
+        private static String stripAnchors(String pattern) {
+            String body = pattern.startsWith("^") ? pattern.substring(1) : pattern;
+            if (body.endsWith("$") && !body.endsWith("\\$")) {
+                body = body.substring(0, body.length() - 1);
+            }
+            return body;
+        }
+
+        // "." does not match line terminators unless the pattern is compiled with DOTALL
+        private static boolean hasLineTerminator(String input) {
+            for (int i = 0; i < input.length(); i++) {
+                if (isLineTerminator(input.charAt(i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean isLineTerminator(char c) {
+            return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+        }
 
         Pattern getCompiledPattern() {
             return compiledPattern;
@@ -104,15 +203,29 @@ public interface ValueNodes {
     class JsonNode extends ValueNode {
         private final Object json;
         private final boolean parsed;
+        // a container read from a document is kept as the provider built it and only mapped to java collections when
+        // its content is compared, its kind and size are taken from the provider
+        private final Configuration configuration;
+        // a literal is parsed, and turned into a value list, once and shared by every evaluation of the filter
+        private volatile Object parsedJson;
+        private volatile ValueNode valueList;
 
         JsonNode(CharSequence charSequence) {
             json = charSequence.toString();
             parsed = false;
+            configuration = null;
         }
 
         JsonNode(Object parsedJson) {
             json = parsedJson;
             parsed = true;
+            configuration = null;
+        }
+
+        JsonNode(Object container, Configuration configuration) {
+            json = container;
+            parsed = false;
+            this.configuration = configuration;
         }
 
         @Override
@@ -134,19 +247,37 @@ public interface ValueNodes {
         }
 
         public ValueNode asValueListNode(Predicate.PredicateContext ctx){
-            if(!isArray(ctx)){
-                return UNDEFINED;
-            } else {
-                return new ValueListNode(Collections.unmodifiableList((List) parse(ctx)));
+            ValueNode list = valueList;
+            if (list == null) {
+                if(!isArray(ctx)){
+                    list = UNDEFINED;
+                } else {
+                    list = new ValueListNode(Collections.unmodifiableList((List) parse(ctx)));
+                }
+                valueList = list;
             }
+            return list;
         }
 
         public Object parse(Predicate.PredicateContext ctx){
-            try {
-              return parsed ? json : new JSONParser(JSONParser.MODE_PERMISSIVE).parse(json.toString());
-            } catch (ParseException e) {
-              throw new IllegalArgumentException(e);
+            if (parsed) {
+                return json;
             }
+            Object result = parsedJson;
+            if (result == null) {
+                if (configuration != null) {
+                    Class<?> type = configuration.jsonProvider().isArray(json) ? List.class : Map.class;
+                    result = configuration.mappingProvider().map(json, type, configuration);
+                } else {
+                    try {
+                        result = new JSONParser(JSONParser.MODE_PERMISSIVE).parse(json.toString());
+                    } catch (ParseException e) {
+                        throw new IllegalArgumentException(e);
+                    }
+                }
+                parsedJson = result;
+            }
+            return result;
         }
 
         public boolean isParsed() {
@@ -154,22 +285,34 @@ public interface ValueNodes {
         }
 
         public Object getJson() {
-            return json;
+            return configuration != null ? parse(null) : json;
         }
 
         public boolean isArray(Predicate.PredicateContext ctx) {
+            if (configuration != null) {
+                return configuration.jsonProvider().isArray(json);
+            }
             return parse(ctx) instanceof List;
         }
 
         public boolean isMap(Predicate.PredicateContext ctx) {
+            if (configuration != null) {
+                return configuration.jsonProvider().isMap(json);
+            }
             return parse(ctx) instanceof Map;
         }
 
         public int length(Predicate.PredicateContext ctx) {
+            if (configuration != null) {
+                return isArray(ctx) ? configuration.jsonProvider().length(json) : -1;
+            }
             return isArray(ctx) ? ((List<?>) parse(ctx)).size() : -1;
         }
 
         public boolean isEmpty(Predicate.PredicateContext ctx) {
+            if (configuration != null) {
+                return configuration.jsonProvider().length(json) == 0;
+            }
             if (isArray(ctx) || isMap(ctx)) return ((Collection<?>) parse(ctx)).size() == 0;
             else if((parse(ctx) instanceof String)) return ((String)parse(ctx)).length() == 0;
             return true;
@@ -177,12 +320,13 @@ public interface ValueNodes {
 
         @Override
         public String toString() {
-            return json.toString();
+            return getJson().toString();
         }
 
         public boolean equals(JsonNode jsonNode, Predicate.PredicateContext ctx) {
             if (this == jsonNode) return true;
-            return !(json != null ? !json.equals(jsonNode.parse(ctx)) : jsonNode.json != null);
+            Object value = getJson();
+            return !(value != null ? !value.equals(jsonNode.parse(ctx)) : jsonNode.getJson() != null);
         }
 
         @Override
@@ -191,8 +335,9 @@ public interface ValueNodes {
             if (!(o instanceof JsonNode)) return false;
 
             JsonNode jsonNode = (JsonNode) o;
+            Object value = getJson();
 
-            return !(json != null ? !json.equals(jsonNode.json) : jsonNode.json != null);
+            return !(value != null ? !value.equals(jsonNode.getJson()) : jsonNode.getJson() != null);
         }
     }
 
@@ -278,22 +423,142 @@ public interface ValueNodes {
 
         public static NumberNode NAN = new NumberNode((BigDecimal)null);
 
-        private final BigDecimal number;
+        private static final long MAX_EXACT_DOUBLE = 1L << 53;
+        private static final double TWO_POW_63 = 0x1p63;
+
+        private final Number value;
+        private BigDecimal number;
+        // primitive forms of the number, only set when comparing them gives the same result as comparing decimals
+        private final boolean isLong;
+        private final boolean isDouble;
+        private final long longValue;
+        private final double doubleValue;
 
         NumberNode(BigDecimal number) {
+            this.value = number;
             this.number = number;
+            if (number == null) {
+                this.isLong = false;
+                this.isDouble = false;
+                this.longValue = 0;
+                this.doubleValue = 0;
+                return;
+            }
+            // at most 18 integer digits and no fraction always fits a long
+            boolean exactLong = number.scale() <= 0 && number.precision() - number.scale() <= 18;
+            long l = exactLong ? number.longValue() : 0;
+            double d = number.doubleValue();
+            this.isLong = exactLong;
+            this.longValue = l;
+            this.isDouble = !Double.isInfinite(d) && new BigDecimal(Double.toString(d)).compareTo(number) == 0;
+            this.doubleValue = d;
         }
+
         NumberNode(CharSequence num) {
-            number = new BigDecimal(num.toString());
+            this(new BigDecimal(num.toString()));
+        }
+
+        /**
+         * Wraps a number read from a document. Integers and finite doubles are compared as primitives, any other
+         * number is converted to a {@link BigDecimal} when it is first compared.
+         */
+        NumberNode(Number value) {
+            this.value = value;
+            if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                long l = value.longValue();
+                this.isLong = true;
+                this.longValue = l;
+                this.isDouble = l >= -MAX_EXACT_DOUBLE && l <= MAX_EXACT_DOUBLE;
+                this.doubleValue = l;
+            } else if (value instanceof Double) {
+                double d = value.doubleValue();
+                this.isLong = false;
+                this.longValue = 0;
+                this.isDouble = !Double.isNaN(d) && !Double.isInfinite(d);
+                this.doubleValue = d;
+            } else {
+                this.isLong = false;
+                this.longValue = 0;
+                this.isDouble = false;
+                this.doubleValue = 0;
+            }
         }
 
         @Override
         public StringNode asStringNode() {
-            return new StringNode(number.toString(), false);
+            return new StringNode(getNumber().toString(), false);
         }
 
         public BigDecimal getNumber() {
-            return number;
+            BigDecimal n = number;
+            if (n == null && value != null) {
+                n = new BigDecimal(value.toString());
+                number = n;
+            }
+            return n;
+        }
+
+        /**
+         * @return a key equal for all numbers having the same value, whatever their type or scale
+         */
+        Object hashKey() {
+            if (isLong) {
+                return longValue;
+            }
+            double d;
+            if (isDouble) {
+                d = doubleValue;
+            } else {
+                BigDecimal n = getNumber();
+                if (n.signum() == 0) {
+                    return 0L;
+                }
+                BigDecimal stripped = n.stripTrailingZeros();
+                if (stripped.scale() <= 0 && stripped.toBigInteger().bitLength() < 64) {
+                    return stripped.longValue();
+                }
+                d = n.doubleValue();
+                if (Double.isInfinite(d) || new BigDecimal(Double.toString(d)).compareTo(n) != 0) {
+                    return stripped;
+                }
+            }
+            if (d == Math.rint(d) && d >= Long.MIN_VALUE && d < TWO_POW_63) {
+                return (long) d;
+            }
+            return d;
+        }
+
+        /**
+         * Compares two numbers by value, with primitive comparisons when both numbers have an exact primitive form.
+         */
+        public int compareTo(NumberNode other) {
+            if (isLong && other.isLong) {
+                return longValue < other.longValue ? -1 : (longValue == other.longValue ? 0 : 1);
+            } else if (isDouble && other.isDouble) {
+                return doubleValue < other.doubleValue ? -1 : (doubleValue == other.doubleValue ? 0 : 1);
+            }
+            return getNumber().compareTo(other.getNumber());
+        }
+
+        /**
+         * Compares a number read from a document with a number node, like comparing a node wrapping the number but
+         * without creating one for integers and finite doubles that can be compared as primitives.
+         */
+        static int compare(Number value, NumberNode other) {
+            if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                long l = value.longValue();
+                if (other.isLong) {
+                    return l < other.longValue ? -1 : (l == other.longValue ? 0 : 1);
+                } else if (other.isDouble && l >= -MAX_EXACT_DOUBLE && l <= MAX_EXACT_DOUBLE) {
+                    return l < other.doubleValue ? -1 : (l == other.doubleValue ? 0 : 1);
+                }
+            } else if (value instanceof Double && other.isDouble) {
+                double d = value.doubleValue();
+                if (!Double.isNaN(d) && !Double.isInfinite(d)) {
+                    return d < other.doubleValue ? -1 : (d == other.doubleValue ? 0 : 1);
+                }
+            }
+            return new NumberNode(value).compareTo(other);
         }
 
         @Override
@@ -311,7 +576,7 @@ public interface ValueNodes {
 
         @Override
         public String toString() {
-            return number.toString();
+            return getNumber().toString();
         }
 
         @Override
@@ -324,7 +589,7 @@ public interface ValueNodes {
             if(that == NumberNode.NAN){
                 return false;
             } else {
-                return number.compareTo(that.number) == 0;
+                return compareTo(that) == 0;
             }
         }
     }
@@ -557,7 +822,10 @@ public interface ValueNodes {
 
     class ValueListNode extends ValueNode implements Iterable<ValueNode> {
 
+        private static final int INDEX_THRESHOLD = 8;
+
         private List<ValueNode> nodes = new ArrayList<ValueNode>();
+        private volatile Index index;
 
         public ValueListNode(Collection<?> values) {
             for (Object value : values) {
@@ -566,12 +834,21 @@ public interface ValueNodes {
         }
 
         public boolean contains(ValueNode node){
-            return nodes.contains(node);
+            if (nodes.size() <= INDEX_THRESHOLD) {
+                return nodes.contains(node);
+            }
+            Index idx = index;
+            if (idx == null) {
+                // building twice on concurrent first use is harmless, both indexes are equal
+                idx = new Index(nodes);
+                index = idx;
+            }
+            return idx.contains(node, nodes);
         }
 
         public boolean subsetof(ValueListNode right) {
             for (ValueNode leftNode : nodes) {
-                if (!right.nodes.contains(leftNode)) {
+                if (!right.contains(leftNode)) {
                     return false;
                 }
             }
@@ -614,6 +891,40 @@ public interface ValueNodes {
         public Iterator<ValueNode> iterator() {
             return nodes.iterator();
         }
+
+        /**
+         * Hashes the strings and numbers of a list. A string equals a number when it is the number's decimal form,
+         * and a number equals a string that parses to the same value, so both sets hold the values of both kinds.
+         */
+        private static final class Index {
+            private final Set<Object> numbers = new HashSet<Object>();
+            private final Set<String> strings = new HashSet<String>();
+
+            private Index(List<ValueNode> nodes) {
+                for (ValueNode node : nodes) {
+                    if (node.isNumberNode()) {
+                        NumberNode number = node.asNumberNode();
+                        numbers.add(number.hashKey());
+                        strings.add(number.toString());
+                    } else if (node.isStringNode()) {
+                        strings.add(node.asStringNode().getString());
+                        NumberNode number = node.asNumberNode();
+                        if (number != NumberNode.NAN) {
+                            numbers.add(number.hashKey());
+                        }
+                    }
+                }
+            }
+
+            private boolean contains(ValueNode node, List<ValueNode> nodes) {
+                if (node.isNumberNode()) {
+                    return numbers.contains(node.asNumberNode().hashKey());
+                } else if (node.isStringNode()) {
+                    return strings.contains(node.asStringNode().getString());
+                }
+                return nodes.contains(node);
+            }
+        }
     }
 
     class PathNode extends ValueNode {
@@ -623,6 +934,7 @@ public interface ValueNodes {
         private final Path path;
         private final boolean existsCheck;
         private final boolean shouldExist;
+        private volatile ExistsConfiguration existsConfiguration;
 
         PathNode(Path path) {
             this(path, false, false);
@@ -675,38 +987,78 @@ public interface ValueNodes {
 
         public ValueNode evaluate(Predicate.PredicateContext ctx) {
             if (isExistsCheck()) {
+                Boolean exists = path.existsDefinite(ctx.item(), ctx.configuration());
+                if (exists != null) {
+                    return exists ? TRUE : FALSE;
+                }
                 try {
-                    Configuration c = Configuration.builder().jsonProvider(ctx.configuration().jsonProvider()).options(Option.REQUIRE_PROPERTIES).build();
+                    Configuration c = existsConfiguration(ctx.configuration());
                     Object result = path.evaluate(ctx.item(), ctx.root(), c).getValue(false);
                     return result == JsonProvider.UNDEFINED ? FALSE : TRUE;
                 } catch (PathNotFoundException e) {
                     return FALSE;
                 }
             } else {
-                try {
-                    Object res;
-                    if (ctx instanceof PredicateContextImpl) {
-                        //This will use cache for document ($) queries
-                        PredicateContextImpl ctxi = (PredicateContextImpl) ctx;
-                        res = ctxi.evaluate(path);
-                    } else {
-                        Object doc = path.isRootPath() ? ctx.root() : ctx.item();
-                        res = path.evaluate(doc, ctx.root(), ctx.configuration()).getValue();
-                    }
-                    res = ctx.configuration().jsonProvider().unwrap(res);
-
-                    if (res instanceof Number) return ValueNode.createNumberNode(res.toString());
-                    else if (res instanceof String) return ValueNode.createStringNode(res.toString(), false);
-                    else if (res instanceof Boolean) return ValueNode.createBooleanNode(res.toString());
-                    else if (res instanceof OffsetDateTime) return ValueNode.createOffsetDateTimeNode(res.toString()); //workaround for issue: https://github.com/json-path/JsonPath/issues/613
-                    else if (res == null) return NULL_NODE;
-                    else if (ctx.configuration().jsonProvider().isArray(res)) return ValueNode.createJsonNode(ctx.configuration().mappingProvider().map(res, List.class, ctx.configuration()));
-                    else if (ctx.configuration().jsonProvider().isMap(res)) return ValueNode.createJsonNode(ctx.configuration().mappingProvider().map(res, Map.class, ctx.configuration()));
-                    else throw new JsonPathException("Could not convert " + res.getClass().toString()+":"+ res.toString() + " to a ValueNode");
-                } catch (PathNotFoundException e) {
-                    return UNDEFINED;
+                return toValueNode(read(ctx), ctx);
+            }
+        }
+
+        /**
+         * @return the configuration exists checks are evaluated with, derived once from the json provider in use. It
+         * only depends on the provider, configurations differing in other settings share it
+         */
+        private Configuration existsConfiguration(Configuration configuration) {
+            JsonProvider jsonProvider = configuration.jsonProvider();
+            ExistsConfiguration cached = existsConfiguration;
+            if (cached == null || cached.jsonProvider != jsonProvider) {
+                cached = new ExistsConfiguration(jsonProvider, Configuration.builder()
+                        .jsonProvider(jsonProvider).options(Option.REQUIRE_PROPERTIES).build());
+                existsConfiguration = cached;
+            }
+            return cached.configuration;
+        }
+
+        private static final class ExistsConfiguration {
+            private final JsonProvider jsonProvider;
+            private final Configuration configuration;
+
+            private ExistsConfiguration(JsonProvider jsonProvider, Configuration configuration) {
+                this.jsonProvider = jsonProvider;
+                this.configuration = configuration;
+            }
+        }
+
+        /**
+         * Reads the value the path points to without converting it to a value node.
+         *
+         * @return the unwrapped value, or {@link JsonProvider#UNDEFINED} if the path does not exist
+         */
+        Object read(Predicate.PredicateContext ctx) {
+            try {
+                Object res;
+                if (ctx instanceof PredicateContextImpl) {
+                    //This will use cache for document ($) queries
+                    PredicateContextImpl ctxi = (PredicateContextImpl) ctx;
+                    res = ctxi.evaluate(path);
+                } else {
+                    Object doc = path.isRootPath() ? ctx.root() : ctx.item();
+                    res = path.evaluate(doc, ctx.root(), ctx.configuration()).getValue();
                 }
+                return ctx.configuration().jsonProvider().unwrap(res);
+            } catch (PathNotFoundException e) {
+                return JsonProvider.UNDEFINED;
             }
         }
+
+        static ValueNode toValueNode(Object res, Predicate.PredicateContext ctx) {
+            if (res == JsonProvider.UNDEFINED) return UNDEFINED;
+            else if (res instanceof Number) return ValueNode.createNumberNode((Number) res);
+            else if (res instanceof String) return ValueNode.createStringNode(res.toString(), false);
+            else if (res instanceof Boolean) return ValueNode.createBooleanNode(res.toString());
+            else if (res instanceof OffsetDateTime) return ValueNode.createOffsetDateTimeNode(res.toString()); //workaround for issue: https://github.com/json-path/JsonPath/issues/613
+            else if (res == null) return NULL_NODE;
+            else if (ctx.configuration().jsonProvider().isArray(res) || ctx.configuration().jsonProvider().isMap(res)) return new JsonNode(res, ctx.configuration());
+            else throw new JsonPathException("Could not convert " + res.getClass().toString()+":"+ res.toString() + " to a ValueNode");
+        }
     }
 }
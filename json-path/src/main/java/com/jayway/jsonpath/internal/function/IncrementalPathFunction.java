@@ -0,0 +1,54 @@
+package com.jayway.jsonpath.internal.function;
+
+import com.jayway.jsonpath.internal.EvaluationContext;
+
+import java.util.List;
+
+/**
+ * A function that can consume the values of its path parameter one by one. When the first parameter of the function
+ * is a path matching any number of values, like in "$..price.sum()", the matches are handed to it as the evaluation
+ * finds them instead of being collected into an array first.
+ */
+public interface IncrementalPathFunction extends PathFunction {
+
+    /**
+     * The running state of one invocation of the function.
+     */
+    interface Accumulation {
+
+        /**
+         * Consumes the next value the path parameter matched
+         *
+         * @param value
+         *      The matched value
+         */
+        void next(Object value);
+
+        /**
+         * @return the result of the function for all values consumed
+         */
+        Object getResult();
+
+        /**
+         * @return true if the values that follow can not change the result, the evaluation of the path parameter
+         * stops then
+         */
+        default boolean isComplete() {
+            return false;
+        }
+    }
+
+    /**
+     * Starts an invocation of the function on the given model, the values of the path parameter follow.
+     *
+     * @param model
+     *      The JSON model as input to this particular function
+     * @param ctx
+     *      Eval context, state bag used as the path is traversed
+     * @param parameters
+     *      The parameters following the path parameter, may be null
+     *
+     * @return the state the values of the path parameter are accumulated into
+     */
+    Accumulation start(Object model, EvaluationContext ctx, List<Parameter> parameters);
+}
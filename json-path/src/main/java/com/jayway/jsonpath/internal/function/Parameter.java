@@ -14,8 +14,8 @@ import java.util.List;
 public class Parameter {
     private ParamType type;
     private Path path;
-    private ILateBindingValue lateBinding;
-    private Boolean evaluated = false;
+    private volatile ILateBindingValue lateBinding;
+    private volatile Boolean evaluated = false;
     private String json;
 
     //private Object cachedValue;
@@ -33,6 +33,23 @@ public class Parameter {
         this.type = ParamType.PATH;
     }
 
+    /**
+     * Creates a copy of this parameter bound to the given late binding value. Parameters are part of a compiled
+     * path that may be evaluated concurrently, so evaluation binds copies rather than the compiled parameter.
+     *
+     * @param lateBinding the value for this evaluation
+     * @return a bound copy of this parameter
+     */
+    public Parameter bind(ILateBindingValue lateBinding) {
+        Parameter bound = new Parameter();
+        bound.type = type;
+        bound.path = path;
+        bound.json = json;
+        bound.lateBinding = lateBinding;
+        bound.evaluated = true;
+        return bound;
+    }
+
     public Object getValue() {
         return lateBinding.get();
     }
@@ -88,6 +105,23 @@ public class Parameter {
         return lateBinding;
     }
 
+    /**
+     * Tells whether the first parameter is a path from the root matching any number of values, like the scan of
+     * "$..price.first()" that is evaluated as "$.first($..price)".
+     *
+     * @param parameters
+     *      Collection of parameters, may be null.
+     *
+     * @return true if the values are given by the first parameter
+     */
+    public static boolean isScan(List<Parameter> parameters) {
+        if (parameters == null || parameters.isEmpty() || parameters.get(0).getType() != ParamType.PATH) {
+            return false;
+        }
+        Path path = parameters.get(0).getPath();
+        return path.isRootPath() && !path.isDefinite();
+    }
+
     /**
      * Translate the collection of parameters into a collection of values of type T.
      *
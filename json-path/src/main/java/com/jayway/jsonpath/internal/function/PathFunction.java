@@ -33,4 +33,13 @@ public interface PathFunction {
      * @return result
      */
     Object invoke(String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters);
+
+    /**
+     * Declares the parameters the function takes. Paths passing other parameters to the function fail to compile.
+     *
+     * @return the types of the parameters by position, or null if the function takes any parameters
+     */
+    default ParamType[] getParameterTypes() {
+        return null;
+    }
 }
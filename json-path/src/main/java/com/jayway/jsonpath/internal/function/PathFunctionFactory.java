@@ -1,6 +1,11 @@
 package com.jayway.jsonpath.internal.function;
 
 import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.internal.function.collection.Distinct;
+import com.jayway.jsonpath.internal.function.collection.GroupBy;
+import com.jayway.jsonpath.internal.function.collection.SortBy;
+import com.jayway.jsonpath.internal.function.collection.TopK;
 import com.jayway.jsonpath.internal.function.json.Append;
 import com.jayway.jsonpath.internal.function.json.KeySetFunction;
 import com.jayway.jsonpath.internal.function.numeric.Average;
@@ -13,48 +18,75 @@ import com.jayway.jsonpath.internal.function.sequence.Index;
 import com.jayway.jsonpath.internal.function.sequence.Last;
 import com.jayway.jsonpath.internal.function.text.Concatenate;
 import com.jayway.jsonpath.internal.function.text.Length;
+import com.jayway.jsonpath.spi.function.PathFunctionProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import static com.jayway.jsonpath.internal.Utils.notEmpty;
+import static com.jayway.jsonpath.internal.Utils.notNull;
 
 /**
  * Implements a factory that given a name of the function will return the Function implementation, or null
  * if the value is not obtained.
  *
  * Leverages the function's name in order to determine which function to execute which is maintained internally
- * here via a static map
+ * here via a static map, and in a map of the functions registered through {@link PathFunctionProvider}
  *
  */
 public class PathFunctionFactory {
 
-    public static final Map<String, Class> FUNCTIONS;
+    private static final Logger logger = LoggerFactory.getLogger(PathFunctionFactory.class);
+
+    public static final Map<String, Supplier<PathFunction>> FUNCTIONS;
+
+    // the functions registered in addition to the built in ones
+    private static final ConcurrentMap<String, Supplier<? extends PathFunction>> REGISTERED =
+            new ConcurrentHashMap<String, Supplier<? extends PathFunction>>();
+
+    private static volatile boolean providersLoaded;
+
+    private static boolean loadingProviders;
 
     static {
         // New functions should be added here and ensure the name is not overridden
-        Map<String, Class> map = new HashMap<String, Class>();
+        Map<String, Supplier<PathFunction>> map = new HashMap<String, Supplier<PathFunction>>();
 
         // Math Functions
-        map.put("avg", Average.class);
-        map.put("stddev", StandardDeviation.class);
-        map.put("sum", Sum.class);
-        map.put("min", Min.class);
-        map.put("max", Max.class);
+        map.put("avg", Average::new);
+        map.put("stddev", StandardDeviation::new);
+        map.put("sum", Sum::new);
+        map.put("min", Min::new);
+        map.put("max", Max::new);
 
         // Text Functions
-        map.put("concat", Concatenate.class);
+        map.put("concat", Concatenate::new);
 
         // JSON Entity Functions
-        map.put(Length.TOKEN_NAME, Length.class);
-        map.put("size", Length.class);
-        map.put("append", Append.class);
-        map.put("keys", KeySetFunction.class);
+        map.put(Length.TOKEN_NAME, Length::new);
+        map.put("size", Length::new);
+        map.put("append", Append::new);
+        map.put("keys", KeySetFunction::new);
         
         // Sequential Functions
-        map.put("first", First.class);
-        map.put("last", Last.class);
-        map.put("index", Index.class);
+        map.put("first", First::new);
+        map.put("last", Last::new);
+        map.put("index", Index::new);
 
+        // Collection Functions
+        map.put("distinct", Distinct::new);
+        map.put("topK", TopK::new);
+        map.put("sortBy", SortBy::new);
+        map.put("groupBy", GroupBy::new);
 
         FUNCTIONS = Collections.unmodifiableMap(map);
     }
@@ -74,14 +106,104 @@ public class PathFunctionFactory {
      * @throws InvalidPathException
      */
     public static PathFunction newFunction(String name) throws InvalidPathException {
-        Class functionClazz = FUNCTIONS.get(name);
-        if(functionClazz == null){
+        PathFunction function = findFunction(name);
+        if(function == null){
             throw new InvalidPathException("Function with name: " + name + " does not exist.");
-        } else {
+        }
+        return function;
+    }
+
+    /**
+     * Returns the function by name, or null if there is no function of that name. Functions keep no state between
+     * invocations, a path resolves its functions once, when it is compiled or else when it is first evaluated, and
+     * shares them between evaluations.
+     *
+     * @param name
+     *      The name of the function
+     *
+     * @return
+     *      The implementation of a function, or null
+     */
+    public static PathFunction findFunction(String name) {
+        Supplier<? extends PathFunction> supplier = FUNCTIONS.get(name);
+        if (supplier == null) {
+            loadProviders();
+            supplier = REGISTERED.get(name);
+        }
+        return supplier == null ? null : supplier.get();
+    }
+
+    /**
+     * Registers a function in addition to the built in ones. Paths compiled before the function is registered bind
+     * it, and check its parameters, when they are first evaluated.
+     *
+     * @param name
+     *      The name of the function
+     * @param function
+     *      Creates the function
+     *
+     * @throws JsonPathException if a function of that name is already defined
+     *
+     * @see PathFunctionProvider
+     */
+    public static void register(String name, Supplier<? extends PathFunction> function) {
+        notEmpty(name, "name can not be null or empty");
+        notNull(function, "function can not be null");
+        loadProviders();
+        if (FUNCTIONS.containsKey(name) || REGISTERED.putIfAbsent(name, function) != null) {
+            throw new JsonPathException("Function with name: " + name + " is already defined.");
+        }
+    }
+
+    /**
+     * Registers the functions of the providers found by the {@link ServiceLoader}, once, when the first function
+     * that is not built in is looked up or registered. Providers that can not be loaded and functions whose name is
+     * already defined are skipped.
+     */
+    private static void loadProviders() {
+        if (providersLoaded) {
+            return;
+        }
+        synchronized (PathFunctionFactory.class) {
+            // a provider registering functions itself comes back here while its functions are loaded
+            if (providersLoaded || loadingProviders) {
+                return;
+            }
+            loadingProviders = true;
             try {
-                return (PathFunction)functionClazz.newInstance();
-            } catch (Exception e) {
-                throw new InvalidPathException("Function of name: " + name + " cannot be created", e);
+                Iterator<PathFunctionProvider> providers = ServiceLoader.load(PathFunctionProvider.class).iterator();
+                while (hasNext(providers)) {
+                    try {
+                        registerAll(providers.next());
+                    } catch (ServiceConfigurationError e) {
+                        logger.warn("Skipping path function provider that can not be loaded", e);
+                    } catch (RuntimeException e) {
+                        logger.warn("Skipping path function provider that failed to supply its functions", e);
+                    }
+                }
+            } finally {
+                loadingProviders = false;
+                providersLoaded = true;
+            }
+        }
+    }
+
+    private static boolean hasNext(Iterator<PathFunctionProvider> providers) {
+        try {
+            return providers.hasNext();
+        } catch (ServiceConfigurationError e) {
+            logger.warn("Skipping path function providers that can not be listed", e);
+            return false;
+        }
+    }
+
+    private static void registerAll(PathFunctionProvider provider) {
+        for (Map.Entry<String, Supplier<? extends PathFunction>> entry : provider.getFunctions().entrySet()) {
+            String name = entry.getKey();
+            if (name == null || name.isEmpty() || entry.getValue() == null) {
+                logger.warn("Skipping function without a name or implementation of provider {}", provider.getClass().getName());
+            } else if (FUNCTIONS.containsKey(name) || REGISTERED.putIfAbsent(name, entry.getValue()) != null) {
+                logger.warn("Skipping function {} of provider {}, a function of that name is already defined", name, provider.getClass().getName());
             }
         }
     }
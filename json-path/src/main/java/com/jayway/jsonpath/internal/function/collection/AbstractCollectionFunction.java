@@ -0,0 +1,49 @@
+package com.jayway.jsonpath.internal.function.collection;
+
+import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.function.IncrementalPathFunction;
+import com.jayway.jsonpath.internal.function.Parameter;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.List;
+
+/**
+ * Defines the pattern for functions working on the items of an array as a whole, like ordering or grouping them.
+ *
+ * The items are those of an array model, or the values of a scan, "$..book.distinct()" is evaluated as
+ * "$.distinct($..book)", which are handed to the function as they are found. Results are built from the values of
+ * the json provider, the items are not mapped.
+ */
+public abstract class AbstractCollectionFunction implements IncrementalPathFunction {
+
+    /**
+     * The name of the function, used in error messages
+     */
+    protected final String name;
+
+    protected AbstractCollectionFunction(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public Object invoke(String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
+        JsonProvider jsonProvider = ctx.configuration().jsonProvider();
+        Accumulation accumulation;
+        Object items;
+        if (Parameter.isScan(parameters)) {
+            accumulation = start(model, ctx, parameters.subList(1, parameters.size()));
+            items = parameters.get(0).getValue();
+        } else if (jsonProvider.isArray(model)) {
+            accumulation = start(model, ctx, parameters);
+            items = model;
+        } else {
+            throw new JsonPathException("Function " + name + " can only be applied to an array");
+        }
+        for (Object item : jsonProvider.toIterable(items)) {
+            accumulation.next(item);
+        }
+        return accumulation.getResult();
+    }
+}
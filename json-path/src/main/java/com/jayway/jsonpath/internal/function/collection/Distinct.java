@@ -0,0 +1,42 @@
+package com.jayway.jsonpath.internal.function.collection;
+
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.function.Parameter;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Provides the items of an array without repetitions, in the order they are first found. Numbers are equal by value,
+ * objects when they have equal properties whatever their order and arrays when they have equal items.
+ */
+public class Distinct extends AbstractCollectionFunction {
+
+    public Distinct() {
+        super("distinct");
+    }
+
+    @Override
+    public Accumulation start(Object model, final EvaluationContext ctx, List<Parameter> parameters) {
+        final JsonProvider jsonProvider = ctx.configuration().jsonProvider();
+        final Object result = jsonProvider.createArray();
+        return new Accumulation() {
+            private final Set<Object> found = new HashSet<Object>();
+            private int count;
+
+            @Override
+            public void next(Object value) {
+                if (found.add(Keys.identity(Keys.of(null, value, ctx), jsonProvider))) {
+                    jsonProvider.setArrayIndex(result, count++, value);
+                }
+            }
+
+            @Override
+            public Object getResult() {
+                return result;
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.jayway.jsonpath.internal.function.collection;
+
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.function.Parameter;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Provides an object holding, for every value of the path in the items of an array, the array of the items having
+ * it. groupBy(@.category) groups the items by their category, the groups in the order their first item is found.
+ * Items without a value at the path are grouped under "null". Objects are grouped whatever the order of their
+ * properties, under the json of the first one found.
+ */
+public class GroupBy extends AbstractCollectionFunction {
+
+    public GroupBy() {
+        super("groupBy");
+    }
+
+    @Override
+    public Accumulation start(Object model, final EvaluationContext ctx, List<Parameter> parameters) {
+        final Path keyPath = Keys.path(name, parameters, 0);
+        final JsonProvider jsonProvider = ctx.configuration().jsonProvider();
+        return new Accumulation() {
+            private final Map<String, Object> groups = new LinkedHashMap<String, Object>();
+            private final Map<Object, String> names = new HashMap<Object, String>();
+
+            @Override
+            public void next(Object value) {
+                Object key = Keys.of(keyPath, value, ctx);
+                Object identity = Keys.identity(key, jsonProvider);
+                String name = names.get(identity);
+                if (name == null) {
+                    name = Keys.name(key, jsonProvider);
+                    names.put(identity, name);
+                }
+                Object group = groups.get(name);
+                if (group == null) {
+                    group = jsonProvider.createArray();
+                    groups.put(name, group);
+                }
+                jsonProvider.setArrayIndex(group, jsonProvider.length(group), value);
+            }
+
+            @Override
+            public Object getResult() {
+                // some providers copy a value set into an object, the groups are complete here
+                Object result = jsonProvider.createMap();
+                for (Map.Entry<String, Object> group : groups.entrySet()) {
+                    jsonProvider.setProperty(result, group.getKey(), group.getValue());
+                }
+                return result;
+            }
+        };
+    }
+}
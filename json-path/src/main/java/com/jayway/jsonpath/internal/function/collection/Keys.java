@@ -0,0 +1,137 @@
+package com.jayway.jsonpath.internal.function.collection;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.function.ParamType;
+import com.jayway.jsonpath.internal.function.Parameter;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the keys items are ordered, grouped or told apart by, and compares them.
+ */
+final class Keys {
+
+    private Keys() {
+    }
+
+    /**
+     * @return the path of the parameter at the given position, or null if there is none and the items are their
+     * own keys
+     */
+    static Path path(String function, List<Parameter> parameters, int position) {
+        if (parameters == null || parameters.size() <= position) {
+            return null;
+        }
+        Parameter parameter = parameters.get(position);
+        if (parameter.getType() != ParamType.PATH) {
+            throw new JsonPathException("Parameter " + (position + 1) + " of function " + function + " must be a path like @.price");
+        }
+        return parameter.getPath();
+    }
+
+    /**
+     * @return the key of the item, null if the item has no value at the path
+     */
+    static Object of(Path path, Object item, EvaluationContext ctx) {
+        Configuration configuration = ctx.configuration();
+        if (path == null) {
+            return configuration.jsonProvider().unwrap(item);
+        }
+        Object key = path.readDefinite(item, configuration);
+        if (key == JsonProvider.UNDEFINED) {
+            try {
+                key = path.evaluate(item, ctx.rootDocument(), configuration).getValue();
+            } catch (PathNotFoundException e) {
+                return null;
+            }
+        }
+        return configuration.jsonProvider().unwrap(key);
+    }
+
+    /**
+     * Numbers and strings can be ordered, numbers before strings.
+     */
+    static boolean isOrdered(Object key) {
+        return key instanceof Number || key instanceof String;
+    }
+
+    static int compare(Object key, Object other) {
+        if (key instanceof Number) {
+            return other instanceof Number ? Double.compare(((Number) key).doubleValue(), ((Number) other).doubleValue()) : -1;
+        }
+        return other instanceof Number ? 1 : ((String) key).compareTo((String) other);
+    }
+
+    /**
+     * @return a value equal to the identity of other keys having the same json value, numbers are equal by value
+     * whatever their type, like 1, 1.0 and a BigDecimal of 1.00, and objects whatever the order of their properties.
+     * Integral numbers fitting a long are identified by a long, other numbers by a BigDecimal without trailing zeros.
+     */
+    static Object identity(Object key, JsonProvider jsonProvider) {
+        if (key instanceof Integer || key instanceof Long || key instanceof Short || key instanceof Byte) {
+            return ((Number) key).longValue();
+        }
+        if (key instanceof Double || key instanceof Float) {
+            double value = ((Number) key).doubleValue();
+            if (value == (long) value) {
+                return (long) value;
+            }
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                return value;
+            }
+            // floats are read from their shortest representation, like 0.1 rather than 0.10000000149011612
+            return number(key instanceof Float ? new BigDecimal(key.toString()) : BigDecimal.valueOf(value));
+        }
+        if (key instanceof BigDecimal || key instanceof BigInteger) {
+            return number(new BigDecimal(key.toString()));
+        }
+        if (key == null || key instanceof String || key instanceof Boolean) {
+            return key;
+        }
+        // containers are compared by their content, their identities are maps and lists which never equal the
+        // identity of a value
+        if (jsonProvider.isMap(key)) {
+            Map<String, Object> identity = new HashMap<String, Object>();
+            for (String property : jsonProvider.getPropertyKeys(key)) {
+                identity.put(property, identity(jsonProvider.unwrap(jsonProvider.getMapValue(key, property)), jsonProvider));
+            }
+            return identity;
+        }
+        if (jsonProvider.isArray(key)) {
+            List<Object> identity = new ArrayList<Object>();
+            for (Object item : jsonProvider.toIterable(key)) {
+                identity.add(identity(jsonProvider.unwrap(item), jsonProvider));
+            }
+            return identity;
+        }
+        return key;
+    }
+
+    private static Object number(BigDecimal number) {
+        BigDecimal value = number.stripTrailingZeros();
+        return value.scale() <= 0 && value.toBigInteger().bitLength() < 64 ? (Object) value.longValue() : value;
+    }
+
+    /**
+     * @return the key as a property name, objects and arrays are named by their json
+     */
+    static String name(Object key, JsonProvider jsonProvider) {
+        if (key instanceof String) {
+            return (String) key;
+        }
+        if (jsonProvider.isMap(key) || jsonProvider.isArray(key)) {
+            return jsonProvider.toJson(key);
+        }
+        return String.valueOf(identity(key, jsonProvider));
+    }
+}
@@ -0,0 +1,112 @@
+package com.jayway.jsonpath.internal.function.collection;
+
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.function.Parameter;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Provides the items of an array ordered by their keys, smallest first. sortBy() orders the items themselves,
+ * sortBy(@.price) by the values of the path in every item. Numbers go before strings, items without a number or
+ * string key go last, items having the same key keep their order.
+ *
+ * When the keys are numbers they are sorted as doubles, every item then goes to the position of its key.
+ */
+public class SortBy extends AbstractCollectionFunction {
+
+    public SortBy() {
+        super("sortBy");
+    }
+
+    @Override
+    public Accumulation start(Object model, final EvaluationContext ctx, List<Parameter> parameters) {
+        final Path keyPath = Keys.path(name, parameters, 0);
+        final JsonProvider jsonProvider = ctx.configuration().jsonProvider();
+        return new Accumulation() {
+            private final List<Object> items = new ArrayList<Object>();
+            private final List<Object> keys = new ArrayList<Object>();
+            private final List<Object> unordered = new ArrayList<Object>();
+            private boolean numbers = true;
+
+            @Override
+            public void next(Object value) {
+                Object key = Keys.of(keyPath, value, ctx);
+                if (!Keys.isOrdered(key)) {
+                    unordered.add(value);
+                    return;
+                }
+                numbers &= key instanceof Number;
+                items.add(value);
+                keys.add(key);
+            }
+
+            @Override
+            public Object getResult() {
+                Object result = jsonProvider.createArray();
+                int index = 0;
+                for (Object item : numbers ? sortByNumber(items, keys) : sortByKey(items, keys)) {
+                    jsonProvider.setArrayIndex(result, index++, item);
+                }
+                for (Object item : unordered) {
+                    jsonProvider.setArrayIndex(result, index++, item);
+                }
+                return result;
+            }
+        };
+    }
+
+    private static List<Object> sortByNumber(List<Object> items, List<Object> keys) {
+        double[] values = new double[keys.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = ((Number) keys.get(i)).doubleValue();
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        // items having the same key take the positions of the key in the order they are found
+        int[] taken = new int[sorted.length];
+        Object[] result = new Object[sorted.length];
+        for (int i = 0; i < values.length; i++) {
+            int first = firstPosition(sorted, values[i]);
+            result[first + taken[first]++] = items.get(i);
+        }
+        return Arrays.asList(result);
+    }
+
+    private static int firstPosition(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (Double.compare(sorted[middle], value) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static List<Object> sortByKey(final List<Object> items, final List<Object> keys) {
+        List<Integer> positions = new ArrayList<Integer>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            positions.add(i);
+        }
+        Collections.sort(positions, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer position, Integer other) {
+                return Keys.compare(keys.get(position), keys.get(other));
+            }
+        });
+        List<Object> result = new ArrayList<Object>(items.size());
+        for (Integer position : positions) {
+            result.add(items.get(position));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,95 @@
+package com.jayway.jsonpath.internal.function.collection;
+
+import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.function.ParamType;
+import com.jayway.jsonpath.internal.function.Parameter;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Provides the n items of an array having the largest keys, largest first. topK(n) compares the items themselves,
+ * topK(n, @.price) the values of the path in every item. Items without a number or string key are left out, of items
+ * having the same key the first found are taken.
+ *
+ * The items are kept in a heap of n items, the smallest on top, an item only enters it by replacing the smallest.
+ */
+public class TopK extends AbstractCollectionFunction {
+
+    public TopK() {
+        super("topK");
+    }
+
+    private static final Comparator<Ranked> SMALLEST_FIRST = new Comparator<Ranked>() {
+        @Override
+        public int compare(Ranked ranked, Ranked other) {
+            int order = Keys.compare(ranked.key, other.key);
+            // of the same keys the item found last goes first
+            return order != 0 ? order : Long.compare(other.position, ranked.position);
+        }
+    };
+
+    @Override
+    public Accumulation start(Object model, final EvaluationContext ctx, List<Parameter> parameters) {
+        final JsonProvider jsonProvider = ctx.configuration().jsonProvider();
+        Object count = parameters == null || parameters.isEmpty() || parameters.get(0).getType() != ParamType.JSON
+                ? null : jsonProvider.unwrap(parameters.get(0).getValue());
+        if (!(count instanceof Number) || ((Number) count).intValue() < 0) {
+            throw new JsonPathException("Function " + name + " takes the number of items to provide as first parameter");
+        }
+        final int limit = ((Number) count).intValue();
+        final Path keyPath = Keys.path(name, parameters, 1);
+        return new Accumulation() {
+            private final PriorityQueue<Ranked> heap = new PriorityQueue<Ranked>(Math.min(limit, 1024) + 1, SMALLEST_FIRST);
+            private long position;
+
+            @Override
+            public void next(Object value) {
+                long current = position++;
+                if (limit == 0) {
+                    return;
+                }
+                Object key = Keys.of(keyPath, value, ctx);
+                if (!Keys.isOrdered(key)) {
+                    return;
+                }
+                if (heap.size() < limit) {
+                    heap.add(new Ranked(key, value, current));
+                } else if (Keys.compare(key, heap.peek().key) > 0) {
+                    heap.poll();
+                    heap.add(new Ranked(key, value, current));
+                }
+            }
+
+            @Override
+            public Object getResult() {
+                List<Ranked> ranked = new ArrayList<Ranked>(heap.size());
+                while (!heap.isEmpty()) {
+                    ranked.add(heap.poll());
+                }
+                Object result = jsonProvider.createArray();
+                for (int i = 0; i < ranked.size(); i++) {
+                    jsonProvider.setArrayIndex(result, i, ranked.get(ranked.size() - 1 - i).value);
+                }
+                return result;
+            }
+        };
+    }
+
+    private static final class Ranked {
+        private final Object key;
+        private final Object value;
+        private final long position;
+
+        private Ranked(Object key, Object value, long position) {
+            this.key = key;
+            this.value = value;
+            this.position = position;
+        }
+    }
+}
@@ -28,21 +28,27 @@ import java.util.Objects;
  */
 public class PathLateBindingValue implements ILateBindingValue {
     private final Path path;
-    private final String rootDocument;
+    private final Object rootDocument;
     private final Configuration configuration;
-    private final Object result;
+    private Object result;
+    private boolean evaluated;
     public PathLateBindingValue(final Path path, final Object rootDocument, final Configuration configuration) {
         this.path = path;
-        this.rootDocument = rootDocument.toString();
+        this.rootDocument = rootDocument;
         this.configuration = configuration;
-        this.result = path.evaluate(rootDocument, rootDocument, configuration).getValue();
     }
 
     /**
+     * Evaluates the path the first time, functions reading a relative path like "@.price" for every item never ask
+     * for the value against the root document.
      *
      * @return the late value
      */
     public Object get() {
+        if (!evaluated) {
+            result = path.evaluate(rootDocument, rootDocument, configuration).getValue();
+            evaluated = true;
+        }
         return result;
     }
 
@@ -52,7 +58,7 @@ public class PathLateBindingValue implements ILateBindingValue {
         if (o == null || getClass() != o.getClass()) return false;
         PathLateBindingValue that = (PathLateBindingValue) o;
         return Objects.equals(path, that.path) &&
-                rootDocument.equals(that.rootDocument) &&
+                rootDocument == that.rootDocument &&
                 Objects.equals(configuration, that.configuration);
     }
 }
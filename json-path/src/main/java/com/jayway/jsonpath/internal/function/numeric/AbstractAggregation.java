@@ -3,8 +3,8 @@ package com.jayway.jsonpath.internal.function.numeric;
 import com.jayway.jsonpath.JsonPathException;
 import com.jayway.jsonpath.internal.EvaluationContext;
 import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.function.IncrementalPathFunction;
 import com.jayway.jsonpath.internal.function.Parameter;
-import com.jayway.jsonpath.internal.function.PathFunction;
 
 import java.util.List;
 
@@ -15,47 +15,71 @@ import java.util.List;
  *
  * Created by mattg on 6/26/15.
  */
-public abstract class AbstractAggregation implements PathFunction {
+public abstract class AbstractAggregation implements IncrementalPathFunction {
 
     /**
-     * Defines the next value in the array to the mathmatical function
-     *
-     * @param value
-     *      The numerical value to process next
+     * The running state of one invocation of the function. Every invocation accumulates into a state of its own, which
+     * lets one function instance be shared by all evaluations of a compiled path.
      */
-    protected abstract void next(Number value);
+    protected interface Accumulator {
+
+        /**
+         * Defines the next value in the array to the mathmatical function
+         *
+         * @param value
+         *      The numerical value to process next
+         */
+        void next(Number value);
+
+        /**
+         * Obtains the value generated via the series of next value calls
+         *
+         * @return
+         *      A numerical answer based on the input value provided
+         */
+        Number getValue();
+    }
 
     /**
-     * Obtains the value generated via the series of next value calls
-     *
-     * @return
-     *      A numerical answer based on the input value provided
+     * @return an empty state for one invocation of the function
      */
-    protected abstract Number getValue();
+    protected abstract Accumulator newAccumulator();
 
     @Override
     public Object invoke(String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
-        int count = 0;
-        if(ctx.configuration().jsonProvider().isArray(model)){
+        return start(model, ctx, parameters).getResult();
+    }
+
+    @Override
+    public Accumulation start(Object model, EvaluationContext ctx, List<Parameter> parameters) {
+        final Accumulator accumulator = newAccumulator();
+        Accumulation accumulation = new Accumulation() {
+            private long count;
 
-            Iterable<?> objects = ctx.configuration().jsonProvider().toIterable(model);
-            for (Object obj : objects) {
-                if (obj instanceof Number) {
-                    Number value = (Number) obj;
+            @Override
+            public void next(Object value) {
+                if (value instanceof Number) {
                     count++;
-                    next(value);
+                    accumulator.next((Number) value);
                 }
             }
-        }
-        if (parameters != null) {
-            for (Number value : Parameter.toList(Number.class, ctx, parameters)) {
-                count++;
-                next(value);
+
+            @Override
+            public Object getResult() {
+                if (count != 0) {
+                    return accumulator.getValue();
+                }
+                throw new JsonPathException("Aggregation function attempted to calculate value using empty array");
+            }
+        };
+        if(ctx.configuration().jsonProvider().isArray(model)){
+            for (Object obj : ctx.configuration().jsonProvider().toIterable(model)) {
+                accumulation.next(obj);
             }
         }
-        if (count != 0) {
-            return getValue();
+        for (Number value : Parameter.toList(Number.class, ctx, parameters)) {
+            accumulation.next(value);
         }
-        throw new JsonPathException("Aggregation function attempted to calculate value using empty array");
+        return accumulation;
     }
 }
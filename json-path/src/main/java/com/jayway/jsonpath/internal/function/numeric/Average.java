@@ -7,20 +7,25 @@ package com.jayway.jsonpath.internal.function.numeric;
  */
 public class Average extends AbstractAggregation {
 
-    private Double summation = 0d;
-    private Double count = 0d;
-
     @Override
-    protected void next(Number value) {
-        count++;
-        summation += value.doubleValue();
-    }
+    protected Accumulator newAccumulator() {
+        return new Accumulator() {
+            private double summation = 0d;
+            private double count = 0d;
 
-    @Override
-    protected Number getValue() {
-        if (count != 0d) {
-            return summation / count;
-        }
-        return 0d;
+            @Override
+            public void next(Number value) {
+                count++;
+                summation += value.doubleValue();
+            }
+
+            @Override
+            public Number getValue() {
+                if (count != 0d) {
+                    return summation / count;
+                }
+                return 0d;
+            }
+        };
     }
 }
@@ -6,19 +6,25 @@ package com.jayway.jsonpath.internal.function.numeric;
  * Created by mattg on 6/27/15.
  */
 public class StandardDeviation extends AbstractAggregation {
-    private Double sumSq = 0d;
-    private Double sum = 0d;
-    private Double count = 0d;
 
     @Override
-    protected void next(Number value) {
-        sum += value.doubleValue();
-        sumSq += value.doubleValue() * value.doubleValue();
-        count++;
-    }
+    protected Accumulator newAccumulator() {
+        return new Accumulator() {
+            private double sumSq = 0d;
+            private double sum = 0d;
+            private double count = 0d;
 
-    @Override
-    protected Number getValue() {
-        return Math.sqrt(sumSq/count - sum*sum/count/count);
+            @Override
+            public void next(Number value) {
+                sum += value.doubleValue();
+                sumSq += value.doubleValue() * value.doubleValue();
+                count++;
+            }
+
+            @Override
+            public Number getValue() {
+                return Math.sqrt(sumSq/count - sum*sum/count/count);
+            }
+        };
     }
 }
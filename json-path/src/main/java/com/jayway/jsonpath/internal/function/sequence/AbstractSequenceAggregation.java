@@ -3,43 +3,117 @@ package com.jayway.jsonpath.internal.function.sequence;
 import com.jayway.jsonpath.JsonPathException;
 import com.jayway.jsonpath.internal.EvaluationContext;
 import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.function.IncrementalPathFunction;
 import com.jayway.jsonpath.internal.function.Parameter;
-import com.jayway.jsonpath.internal.function.PathFunction;
+import com.jayway.jsonpath.spi.json.JsonProvider;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Defines the pattern for taking item from collection of JSONArray by index
  *
+ * An array model is read at the index directly. The values of a scan, "$..price.last()" is evaluated as
+ * "$.last($..price)", are taken from the path parameter instead, the evaluation of the scan stops as soon as the item
+ * is known.
+ *
  * Created by git9527 on 6/11/22.
  */
-public abstract class AbstractSequenceAggregation implements PathFunction {
-    
+public abstract class AbstractSequenceAggregation implements IncrementalPathFunction {
+
     protected abstract int targetIndex(EvaluationContext ctx, List<Parameter> parameters);
-    
+
     @Override
     public Object invoke(String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
-        if(ctx.configuration().jsonProvider().isArray(model)){
-
-            Iterable<?> objects = ctx.configuration().jsonProvider().toIterable(model);
-            List<Object> objectList = new ArrayList<>();
-            objects.forEach(objectList::add);
+        JsonProvider jsonProvider = ctx.configuration().jsonProvider();
+        if (Parameter.isScan(parameters)) {
+            Accumulation accumulation = start(model, ctx, parameters.subList(1, parameters.size()));
+            Object values = parameters.get(0).getValue();
+            Iterable<?> matches = jsonProvider.isArray(values) ? jsonProvider.toIterable(values) : Collections.singletonList(values);
+            for (Object value : matches) {
+                accumulation.next(value);
+                if (accumulation.isComplete()) {
+                    break;
+                }
+            }
+            return accumulation.getResult();
+        }
+        if(jsonProvider.isArray(model)){
+            int length = jsonProvider.length(model);
             int targetIndex = this.targetIndex(ctx, parameters);
-            if (targetIndex >= 0) {
-                return objectList.get(targetIndex);
-            } else {
-                int realIndex = objectList.size() + targetIndex;
-                if (realIndex > 0) {
-                    return objectList.get(realIndex);
+            int realIndex = targetIndex >= 0 ? targetIndex : length + targetIndex;
+            if (realIndex >= 0 && realIndex < length) {
+                return jsonProvider.getArrayIndex(model, realIndex);
+            }
+            throw outOfRange(targetIndex, length);
+        }
+        throw new JsonPathException("Aggregation function attempted to calculate value using empty array");
+    }
+
+    @Override
+    public Accumulation start(Object model, EvaluationContext ctx, List<Parameter> parameters) {
+        final int targetIndex = this.targetIndex(ctx, parameters);
+        if (targetIndex >= 0) {
+            return new Accumulation() {
+                private long count;
+                private Object item;
+
+                @Override
+                public void next(Object value) {
+                    if (count++ == targetIndex) {
+                        item = value;
+                    }
+                }
+
+                @Override
+                public boolean isComplete() {
+                    return count > targetIndex;
+                }
+
+                @Override
+                public Object getResult() {
+                    if (count > targetIndex) {
+                        return item;
+                    }
+                    throw outOfRange(targetIndex, count);
+                }
+            };
+        }
+        return new Accumulation() {
+            // the last values, in a ring from the position of the oldest one
+            private final List<Object> window = new ArrayList<Object>();
+            private final int size = -targetIndex;
+            private long count;
+
+            @Override
+            public void next(Object value) {
+                if (window.size() < size) {
+                    window.add(value);
                 } else {
-                    throw new JsonPathException("Target index:" + targetIndex + " larger than object count:" + objectList.size());
+                    window.set((int) (count % size), value);
+                }
+                count++;
+            }
+
+            @Override
+            public Object getResult() {
+                if (count >= size) {
+                    return window.get((int) (count % size));
                 }
+                throw outOfRange(targetIndex, count);
             }
+        };
+    }
+
+
+    private static JsonPathException outOfRange(int targetIndex, long count) {
+        if (count == 0) {
+            return new JsonPathException("Aggregation function attempted to calculate value using empty array");
         }
-        throw new JsonPathException("Aggregation function attempted to calculate value using empty array");
+        return new JsonPathException("Target index:" + targetIndex + " larger than object count:" + count);
     }
-    
+
     protected int getIndexFromParameters(EvaluationContext ctx, List<Parameter> parameters) {
         List<Number> numbers = Parameter.toList(Number.class, ctx, parameters);
         return numbers.get(0).intValue();
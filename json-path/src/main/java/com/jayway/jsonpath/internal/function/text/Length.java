@@ -3,12 +3,9 @@ package com.jayway.jsonpath.internal.function.text;
 import com.jayway.jsonpath.internal.EvaluationContext;
 import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.function.IncrementalPathFunction;
 import com.jayway.jsonpath.internal.function.Parameter;
-import com.jayway.jsonpath.internal.function.PathFunction;
-import com.jayway.jsonpath.internal.path.CompiledPath;
-import com.jayway.jsonpath.internal.path.PathToken;
-import com.jayway.jsonpath.internal.path.RootPathToken;
-import com.jayway.jsonpath.internal.path.WildcardPathToken;
+import com.jayway.jsonpath.spi.json.JsonProvider;
 
 import java.util.List;
 
@@ -17,7 +14,7 @@ import java.util.List;
  *
  * Created by mattg on 6/26/15.
  */
-public class Length implements PathFunction {
+public class Length implements IncrementalPathFunction {
 
     public static final String TOKEN_NAME = "length";
 
@@ -41,35 +38,62 @@ public class Length implements PathFunction {
      */
     @Override
     public Object invoke(String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
+        JsonProvider jsonProvider = ctx.configuration().jsonProvider();
         if (null != parameters && parameters.size() > 0) {
-
-            // Set the tail of the first parameter, when its not a function path parameter (which wouldn't make sense
-            // for length - to the wildcard such that we request all of its children so we can get back an array and
-            // take its length.
-            Parameter lengthOfParameter = parameters.get(0);
-            if (!lengthOfParameter.getPath().isFunctionPath()) {
-                Path path = lengthOfParameter.getPath();
-                if (path instanceof CompiledPath) {
-                    RootPathToken root = ((CompiledPath) path).getRoot();
-                    PathToken tail = root.getNext();
-                    while (null != tail && null != tail.getNext()) {
-                        tail = tail.getNext();
-                    }
-                    if (null != tail) {
-                        tail.setNext(new WildcardPathToken());
-                    }
+            Path path = parameters.get(0).getPath();
+            if (!path.isFunctionPath()) {
+                // Count the children of the nodes the path lands on rather than appending a wildcard to the
+                // parameter path, the path is shared by all evaluations of the compiled path.
+                Object innerModel = path.evaluate(model, model, ctx.configuration()).getValue(false);
+                if (path.isDefinite()) {
+                    return childCount(innerModel, jsonProvider);
+                }
+                int count = 0;
+                for (Object match : jsonProvider.toIterable(innerModel)) {
+                    count += childCount(match, jsonProvider);
                 }
+                return count;
             }
-            Object innerModel = parameters.get(0).getPath().evaluate(model, model, ctx.configuration()).getValue();
-            if (ctx.configuration().jsonProvider().isArray(innerModel)) {
-                return ctx.configuration().jsonProvider().length(innerModel);
+            Object innerModel = path.evaluate(model, model, ctx.configuration()).getValue();
+            if (jsonProvider.isArray(innerModel)) {
+                return jsonProvider.length(innerModel);
             }
         }
-        if (ctx.configuration().jsonProvider().isArray(model)) {
-            return ctx.configuration().jsonProvider().length(model);
-        } else if(ctx.configuration().jsonProvider().isMap(model)){
-            return ctx.configuration().jsonProvider().length(model);
+        if (jsonProvider.isArray(model)) {
+            return jsonProvider.length(model);
+        } else if(jsonProvider.isMap(model)){
+            return jsonProvider.length(model);
         }
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Counts the children of the nodes a path parameter lands on, as they are found.
+     */
+    @Override
+    public Accumulation start(Object model, EvaluationContext ctx, List<Parameter> parameters) {
+        final JsonProvider jsonProvider = ctx.configuration().jsonProvider();
+        return new Accumulation() {
+            private int count;
+
+            @Override
+            public void next(Object value) {
+                count += childCount(value, jsonProvider);
+            }
+
+            @Override
+            public Object getResult() {
+                return count;
+            }
+        };
+    }
+
+    private static int childCount(Object node, JsonProvider jsonProvider) {
+        if (jsonProvider.isArray(node)) {
+            return jsonProvider.length(node);
+        } else if (jsonProvider.isMap(node)) {
+            return jsonProvider.getPropertyKeys(node).size();
+        }
+        return 0;
+    }
+}
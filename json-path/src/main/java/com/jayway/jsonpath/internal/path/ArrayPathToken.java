@@ -18,7 +18,6 @@ import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.PathNotFoundException;
 
-import static java.lang.String.format;
 
 public abstract class ArrayPathToken extends PathToken {
 
@@ -31,13 +30,13 @@ public abstract class ArrayPathToken extends PathToken {
      * @throws PathNotFoundException if model is null and evaluation must be interrupted
      * @throws InvalidPathException if model is not an array and evaluation must be interrupted
      */
-    protected boolean checkArrayModel(String currentPath, Object model, EvaluationContextImpl ctx) {
+    protected boolean checkArrayModel(PathSegment currentPath, Object model, EvaluationContextImpl ctx) {
         if (model == null){
             if (!isUpstreamDefinite()
                     || ctx.options().contains(Option.SUPPRESS_EXCEPTIONS)) {
                 return false;
             } else {
-                throw new PathNotFoundException("The path " + currentPath + " is null");
+                throw PathNotFoundException.withLazyMessage("The path %s is null", currentPath);
             }
         }
         if (!ctx.jsonProvider().isArray(model)) {
@@ -45,7 +44,9 @@ public abstract class ArrayPathToken extends PathToken {
                     || ctx.options().contains(Option.SUPPRESS_EXCEPTIONS)) {
                 return false;
             } else {
-                throw new PathNotFoundException(format("Filter: %s can only be applied to arrays. Current context is: %s", toString(), model));
+                // the exception must not keep the document, only the type of the model is named
+                throw PathNotFoundException.withLazyMessage("Filter: %s can only be applied to arrays. Current context is: %s",
+                        this, model.getClass().getName());
             }
         }
         return true;
@@ -26,7 +26,9 @@ import com.jayway.jsonpath.spi.json.JsonProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 public class CompiledPath implements Path {
 
@@ -36,10 +38,13 @@ public class CompiledPath implements Path {
 
     private final boolean isRootPath;
 
+    private final DefinitePathEvaluator definitePathEvaluator;
+
 
     public CompiledPath(RootPathToken root, boolean isRootPath) {
         this.root = invertScannerFunctionRelationship(root);
         this.isRootPath = isRootPath;
+        this.definitePathEvaluator = DefinitePathEvaluator.create(this.root);
     }
 
     @Override
@@ -77,7 +82,13 @@ public class CompiledPath implements Path {
                 Parameter parameter = new Parameter();
                 parameter.setPath(new CompiledPath(path, true));
                 parameter.setType(ParamType.PATH);
-                ((FunctionPathToken)token).setParameters(Arrays.asList(parameter));
+                // parameters of the function follow the path, like the index of "$..price.index(2)"
+                List<Parameter> parameters = new ArrayList<Parameter>();
+                parameters.add(parameter);
+                if (((FunctionPathToken) token).getParameters() != null) {
+                    parameters.addAll(((FunctionPathToken) token).getParameters());
+                }
+                ((FunctionPathToken)token).setParameters(parameters);
                 RootPathToken functionRoot = new RootPathToken('$');
                 functionRoot.setTail(token);
                 functionRoot.setNext(token);
@@ -91,6 +102,27 @@ public class CompiledPath implements Path {
 
     @Override
     public EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, boolean forUpdate) {
+        return evaluate(document, rootDocument, configuration, forUpdate, null);
+    }
+
+    @Override
+    public EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, DocumentIndex documentIndex) {
+        return evaluate(document, rootDocument, configuration, false, documentIndex);
+    }
+
+    /**
+     * Evaluates the path and hands every match to the consumer as the evaluation finds it, without collecting the
+     * matches. Evaluation listeners are not notified.
+     */
+    void stream(Object document, Object rootDocument, Configuration configuration, DocumentIndex documentIndex, Consumer<Object> consumer) {
+        EvaluationContextImpl ctx = EvaluationContextImpl.streaming(this, rootDocument, configuration, consumer);
+        ctx.setDocumentIndex(documentIndex);
+        try {
+            root.evaluate(null, PathRef.NO_OP, document, ctx);
+        } catch (EvaluationAbortException abort) {}
+    }
+
+    private EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, boolean forUpdate, DocumentIndex documentIndex) {
         if (logger.isDebugEnabled()) {
             logger.debug("Evaluating path: {}", toString());
         }
@@ -98,10 +130,16 @@ public class CompiledPath implements Path {
 
 
         EvaluationContextImpl ctx = new EvaluationContextImpl(this, rootDocument, configuration, forUpdate);
+        ctx.setDocumentIndex(documentIndex);
         try {
             PathRef op = ctx.forUpdate() ?  PathRef.createRoot(rootDocument) : PathRef.NO_OP;
-            root.evaluate("", op, document, ctx);
-        } catch (EvaluationAbortException abort) {}
+            root.evaluate(null, op, document, ctx);
+        } catch (EvaluationAbortException abort) {
+        } finally {
+            if (documentIndex != null && mayModifyDocument()) {
+                documentIndex.invalidate();
+            }
+        }
 
         return ctx;
 
@@ -115,7 +153,7 @@ public class CompiledPath implements Path {
             PathToken funcToken = root.chop();
             try {
                 // Evaluate the path without the tail function.
-                root.evaluate("", op, document, ctx);
+                root.evaluate(null, op, document, ctx);
                 // Get the value of the evaluation to use as model when evaluating the function.
                 Object arrayModel = ctx.getValue(false);
 
@@ -133,7 +171,7 @@ public class CompiledPath implements Path {
                     }
 
                     retCtx = createFunctionEvaluationContext(funcToken, rootDocument, configuration, rootDocument);
-                    retCtx.addResult(root.getPathFragment(), op, array);
+                    retCtx.addResult(PathSegment.root(root.getPathFragment()), op, array);
                 } else {
                     // Normal case: definite paths and non-definite paths that don't evaluate to an array of arrays
                     // (such as those that evaluate to an array of numbers) will have the function applied to the
@@ -150,7 +188,7 @@ public class CompiledPath implements Path {
             }
         } else {
             try {
-                root.evaluate("", op, document, ctx);
+                root.evaluate(null, op, document, ctx);
                 return ctx;
             } catch (EvaluationAbortException abort) {
             }
@@ -180,7 +218,7 @@ public class CompiledPath implements Path {
                                     PathRef op) {
         // Evaluate the function on the given model.
         EvaluationContextImpl newCtx = createFunctionEvaluationContext(funcToken, model, configuration, rootDocument);
-        funcToken.evaluate("", op, model, newCtx);
+        funcToken.evaluate(PathSegment.root(""), op, model, newCtx);
         return newCtx;
     }
 
@@ -192,6 +230,31 @@ public class CompiledPath implements Path {
         return new EvaluationContextImpl(newCPath, model, configuration, false);
     }
 
+    @Override
+    public Object readDefinite(Object document, Configuration configuration) {
+        if (definitePathEvaluator == null || !configuration.getEvaluationListeners().isEmpty()) {
+            return JsonProvider.UNDEFINED;
+        }
+        return definitePathEvaluator.read(document, configuration);
+    }
+
+    @Override
+    public Object readOrEvaluate(Object document, Configuration configuration, DocumentIndex documentIndex) {
+        if (definitePathEvaluator == null || !configuration.getEvaluationListeners().isEmpty()) {
+            return evaluate(document, document, configuration, documentIndex);
+        }
+        return definitePathEvaluator.read(document, configuration, documentIndex, this);
+    }
+
+    @Override
+    public Boolean existsDefinite(Object document, Configuration configuration) {
+        // providers differ in how they report an index out of bounds, those paths are evaluated
+        if (definitePathEvaluator == null || definitePathEvaluator.hasIndexes() || !configuration.getEvaluationListeners().isEmpty()) {
+            return null;
+        }
+        return definitePathEvaluator.exists(document, configuration.jsonProvider());
+    }
+
     @Override
     public EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration){
         return evaluate(document, rootDocument, configuration, false);
@@ -202,6 +265,18 @@ public class CompiledPath implements Path {
         return root.isPathDefinite();
     }
 
+    /**
+     * @return true if the path holds a function that may modify the document, like append()
+     */
+    boolean mayModifyDocument() {
+        for (PathToken token = root; token != null; token = token.isLeaf() ? null : token.next()) {
+            if (token instanceof FunctionPathToken && ((FunctionPathToken) token).mayModifyDocument()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean isFunctionPath() {
         return root.isFunctionPath();
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.spi.json.AbstractJsonProvider;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads paths made of single properties and single array indexes, like <code>$.a.b[3].c</code>, by walking the
+ * document directly instead of through the token chain and an {@link EvaluationContextImpl}.
+ *
+ * Only the case where every step is found is handled here. Whenever a property is missing, an index is out of bounds
+ * or a step lands on something that is not a container, the path is evaluated the regular way from that step on,
+ * which applies the configured options and produces the proper exceptions.
+ */
+final class DefinitePathEvaluator {
+
+    // The regular evaluation hands values back through a provider array, providers overriding the array accessors
+    // may convert values on the way in and out of their arrays. Only for those is the same round trip done here to
+    // return the same representation.
+    private static final ClassValue<Boolean> CONVERTS_ARRAY_VALUES = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("setArrayIndex", Object.class, int.class, Object.class).getDeclaringClass() != AbstractJsonProvider.class
+                        || type.getMethod("getArrayIndex", Object.class, int.class).getDeclaringClass() != AbstractJsonProvider.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+    };
+
+    private final String rootToken;
+    private final PathToken[] tokens;
+    private final String[] properties;
+    private final int[] indexes;
+
+    private DefinitePathEvaluator(String rootToken, PathToken[] tokens, String[] properties, int[] indexes) {
+        this.rootToken = rootToken;
+        this.tokens = tokens;
+        this.properties = properties;
+        this.indexes = indexes;
+    }
+
+    /**
+     * @param root the root of a compiled path
+     * @return an evaluator for the path or null if the path has other tokens than single properties and indexes
+     */
+    static DefinitePathEvaluator create(RootPathToken root) {
+        List<PathToken> tokens = new ArrayList<PathToken>();
+        for (PathToken token = root; !token.isLeaf(); ) {
+            token = token.next();
+            tokens.add(token);
+        }
+        String[] properties = new String[tokens.size()];
+        int[] indexes = new int[tokens.size()];
+        for (int i = 0; i < tokens.size(); i++) {
+            PathToken token = tokens.get(i);
+            if (token instanceof PropertyPathToken && ((PropertyPathToken) token).singlePropertyCase()) {
+                properties[i] = ((PropertyPathToken) token).getProperties().get(0);
+            } else if (token instanceof ArrayIndexToken && token.isTokenDefinite()) {
+                indexes[i] = ((ArrayIndexToken) token).getArrayIndexOperation().indexes().get(0);
+            } else {
+                return null;
+            }
+        }
+        return new DefinitePathEvaluator(root.getPathFragment(), tokens.toArray(new PathToken[0]), properties, indexes);
+    }
+
+    /**
+     * @param document the document to read
+     * @param configuration configuration to use
+     * @return the value the path points to or {@link JsonProvider#UNDEFINED} if the path must be evaluated
+     */
+    Object read(Object document, Configuration configuration) {
+        JsonProvider jsonProvider = configuration.jsonProvider();
+        Object model = walk(document, jsonProvider);
+        if (model == JsonProvider.UNDEFINED) {
+            return JsonProvider.UNDEFINED;
+        }
+        return handBack(model, jsonProvider);
+    }
+
+    /**
+     * Reads the path like {@link #read(Object, Configuration)}. When the document does not contain the whole path,
+     * the path is evaluated the regular way from the step where the walk stopped, the steps found are not walked
+     * again.
+     *
+     * @param document the document to read
+     * @param configuration configuration to use
+     * @param documentIndex index of the document, or null
+     * @param path the path this evaluator reads
+     * @return the value the path points to, or the {@link EvaluationContextImpl} the path was evaluated into
+     */
+    Object read(Object document, Configuration configuration, DocumentIndex documentIndex, CompiledPath path) {
+        JsonProvider jsonProvider = configuration.jsonProvider();
+        Object model = document;
+        for (int i = 0; i < properties.length; i++) {
+            Object value = step(model, i, jsonProvider);
+            if (value == JsonProvider.UNDEFINED) {
+                return evaluateFrom(i, model, document, configuration, documentIndex, path);
+            }
+            model = value;
+        }
+        return handBack(model, jsonProvider);
+    }
+
+    /**
+     * @return true if the path has array index steps
+     */
+    boolean hasIndexes() {
+        for (String property : properties) {
+            if (property == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param document the document to read
+     * @param jsonProvider the provider the document was built with
+     * @return true if every step of the path is found in the document
+     */
+    boolean exists(Object document, JsonProvider jsonProvider) {
+        return walk(document, jsonProvider) != JsonProvider.UNDEFINED;
+    }
+
+    private EvaluationContextImpl evaluateFrom(int step, Object model, Object document, Configuration configuration,
+                                               DocumentIndex documentIndex, CompiledPath path) {
+        PathSegment currentPath = PathSegment.root(rootToken);
+        for (int i = 0; i < step; i++) {
+            currentPath = properties[i] != null ? currentPath.property(properties[i]) : currentPath.index(indexes[i]);
+        }
+        EvaluationContextImpl ctx = new EvaluationContextImpl(path, document, configuration, false);
+        ctx.setDocumentIndex(documentIndex);
+        tokens[step].evaluate(currentPath, PathRef.NO_OP, model, ctx);
+        return ctx;
+    }
+
+    private static Object handBack(Object model, JsonProvider jsonProvider) {
+        if (!CONVERTS_ARRAY_VALUES.get(jsonProvider.getClass())) {
+            return model;
+        }
+        Object result = jsonProvider.createArray();
+        jsonProvider.setArrayIndex(result, 0, model);
+        return jsonProvider.getArrayIndex(result, 0);
+    }
+
+    private Object walk(Object document, JsonProvider jsonProvider) {
+        Object model = document;
+        for (int i = 0; i < properties.length && model != JsonProvider.UNDEFINED; i++) {
+            model = step(model, i, jsonProvider);
+        }
+        return model;
+    }
+
+    private Object step(Object model, int i, JsonProvider jsonProvider) {
+        String property = properties[i];
+        if (property != null) {
+            if (model == null || !jsonProvider.isMap(model)) {
+                return JsonProvider.UNDEFINED;
+            }
+            return jsonProvider.getMapValue(model, property);
+        }
+        if (model == null || !jsonProvider.isArray(model)) {
+            return JsonProvider.UNDEFINED;
+        }
+        int length = jsonProvider.length(model);
+        int index = indexes[i] < 0 ? length + indexes[i] : indexes[i];
+        if (index < 0 || index >= length) {
+            return JsonProvider.UNDEFINED;
+        }
+        return jsonProvider.getArrayIndex(model, index);
+    }
+}
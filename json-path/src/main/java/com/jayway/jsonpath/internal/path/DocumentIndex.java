@@ -0,0 +1,329 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.filter.EqualityLookup;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes of one document, built on demand the first time an evaluation asks for them and reused by every following
+ * evaluation on the document. An index describes the document as it was when the index was built, it must be
+ * dropped when the document is modified.
+ *
+ * The scan index lists the objects and arrays of the document in the order a deep scan visits them, and for every
+ * property name the objects having the property. Deep scans are answered from it without walking the document.
+ *
+ * The root path values hold the values of root paths referenced by filters, like <code>$.limit</code> in
+ * <code>$.items[?(@.price &lt; $.limit)]</code>, by compiled path.
+ *
+ * The equality indexes map the values a property has in the items of an array to the positions of the items, by
+ * array and property path. Filters like <code>$.items[?(@.id == 42)]</code> only test the items found through them.
+ */
+public final class DocumentIndex {
+
+    private final Object document;
+    private final JsonProvider jsonProvider;
+    private volatile ScanIndex scanIndex;
+    private volatile boolean valid = true;
+    private final Map<Path, Object> rootPathValues = Collections.synchronizedMap(new IdentityHashMap<Path, Object>());
+    private final Map<Object, Map<String, EqualityIndex>> equalityIndexes = new IdentityHashMap<Object, Map<String, EqualityIndex>>();
+
+    /**
+     * @param document the document to index
+     * @param jsonProvider the provider the document was built with
+     */
+    public DocumentIndex(Object document, JsonProvider jsonProvider) {
+        this.document = document;
+        this.jsonProvider = jsonProvider;
+    }
+
+    /**
+     * @return the indexed document
+     */
+    public Object document() {
+        return document;
+    }
+
+    /**
+     * @return false once a function modified the document, the index must then be dropped
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    void invalidate() {
+        valid = false;
+    }
+
+    Map<Path, Object> rootPathValues() {
+        return rootPathValues;
+    }
+
+    ScanIndex scanIndex() {
+        ScanIndex index = scanIndex;
+        if (index == null) {
+            // building twice on concurrent first use is harmless, both indexes are equal
+            index = new ScanIndex(document, jsonProvider);
+            scanIndex = index;
+        }
+        return index;
+    }
+
+    EqualityIndex equalityIndex(Object array, EqualityLookup lookup, Configuration configuration) {
+        String property = lookup.property();
+        synchronized (equalityIndexes) {
+            Map<String, EqualityIndex> indexes = equalityIndexes.get(array);
+            EqualityIndex index = indexes == null ? null : indexes.get(property);
+            if (index != null) {
+                return index;
+            }
+        }
+        // building twice on concurrent first use is harmless, both indexes are equal
+        EqualityIndex index = new EqualityIndex(array, lookup, document, configuration);
+        synchronized (equalityIndexes) {
+            Map<String, EqualityIndex> indexes = equalityIndexes.get(array);
+            if (indexes == null) {
+                indexes = new HashMap<String, EqualityIndex>();
+                equalityIndexes.put(array, indexes);
+            }
+            indexes.put(property, index);
+        }
+        return index;
+    }
+
+    /**
+     * The positions of the items of an array by the keys of the value one property has in them.
+     */
+    static final class EqualityIndex {
+        private static final int[] NONE = new int[0];
+
+        private final Map<Object, int[]> positions = new HashMap<Object, int[]>();
+        private final int[] unkeyed;
+
+        private EqualityIndex(Object array, EqualityLookup lookup, Object document, Configuration configuration) {
+            Map<Object, List<Integer>> lists = new HashMap<Object, List<Integer>>();
+            List<Integer> unkeyedList = new ArrayList<Integer>();
+            List<Object> keys = new ArrayList<Object>();
+            Map<Path, Object> rootPathValues = new IdentityHashMap<Path, Object>();
+            int idx = 0;
+            for (Object item : configuration.jsonProvider().toIterable(array)) {
+                keys.clear();
+                boolean keyed;
+                try {
+                    keyed = lookup.addKeys(new PredicateContextImpl(item, document, configuration, rootPathValues), keys);
+                } catch (RuntimeException e) {
+                    keyed = false;
+                }
+                if (keyed) {
+                    for (Object key : keys) {
+                        List<Integer> list = lists.get(key);
+                        if (list == null) {
+                            list = new ArrayList<Integer>(1);
+                            lists.put(key, list);
+                        }
+                        list.add(idx);
+                    }
+                } else {
+                    unkeyedList.add(idx);
+                }
+                idx++;
+            }
+            for (Map.Entry<Object, List<Integer>> entry : lists.entrySet()) {
+                positions.put(entry.getKey(), toArray(entry.getValue()));
+            }
+            unkeyed = toArray(unkeyedList);
+        }
+
+        /**
+         * @return the positions of the items whose value has one of the keys, or has no keys at all, in ascending order
+         */
+        int[] candidates(Collection<Object> keys) {
+            int[][] found = new int[keys.size() + 1][];
+            int count = 0;
+            int total = 0;
+            for (Object key : keys) {
+                int[] p = positions.get(key);
+                if (p != null) {
+                    found[count++] = p;
+                    total += p.length;
+                }
+            }
+            if (unkeyed.length > 0) {
+                found[count++] = unkeyed;
+                total += unkeyed.length;
+            }
+            if (count == 0) {
+                return NONE;
+            } else if (count == 1) {
+                return found[0];
+            }
+            int[] merged = new int[total];
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                System.arraycopy(found[i], 0, merged, size, found[i].length);
+                size += found[i].length;
+            }
+            Arrays.sort(merged);
+            int distinct = 0;
+            for (int i = 0; i < merged.length; i++) {
+                if (i == 0 || merged[i] != merged[i - 1]) {
+                    merged[distinct++] = merged[i];
+                }
+            }
+            return Arrays.copyOf(merged, distinct);
+        }
+
+        private static int[] toArray(List<Integer> list) {
+            int[] values = new int[list.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = list.get(i);
+            }
+            return values;
+        }
+    }
+
+    /**
+     * The objects and arrays of a document in deep scan order, the descendants of a node directly follow it.
+     */
+    static final class ScanIndex {
+        private static final int DUPLICATE = -1;
+
+        private final JsonProvider jsonProvider;
+        private final IdentityHashMap<Object, Integer> positions = new IdentityHashMap<Object, Integer>();
+        private final Map<String, List<Integer>> propertyLists = new HashMap<String, List<Integer>>();
+        private final Map<String, int[]> properties = new HashMap<String, int[]>();
+        private Object[] nodes = new Object[64];
+        private int[] parents = new int[64];
+        private String[] names = new String[64];
+        private int[] indexes = new int[64];
+        private int[] ends = new int[64];
+        private int size;
+
+        private ScanIndex(Object document, JsonProvider jsonProvider) {
+            this.jsonProvider = jsonProvider;
+            if (jsonProvider.isMap(document) || jsonProvider.isArray(document)) {
+                add(document, -1, null, 0);
+            }
+            for (Map.Entry<String, List<Integer>> entry : propertyLists.entrySet()) {
+                List<Integer> list = entry.getValue();
+                int[] values = new int[list.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = list.get(i);
+                }
+                properties.put(entry.getKey(), values);
+            }
+            propertyLists.clear();
+        }
+
+        /**
+         * @return the position of the node, or -1 if it is not indexed or occurs more than once in the document
+         */
+        int position(Object model) {
+            Integer position = positions.get(model);
+            return position == null ? -1 : position;
+        }
+
+        Object node(int position) {
+            return nodes[position];
+        }
+
+        /**
+         * @return the position following the last descendant of the node
+         */
+        int end(int position) {
+            return ends[position];
+        }
+
+        /**
+         * @return the positions of the objects having the property, in ascending order
+         */
+        int[] withProperty(String property) {
+            int[] positions = properties.get(property);
+            return positions == null ? new int[0] : positions;
+        }
+
+        /**
+         * @return the first index in the positions holding a position not before the given one
+         */
+        static int firstFrom(int[] positions, int position) {
+            int i = Arrays.binarySearch(positions, position);
+            return i < 0 ? -i - 1 : i;
+        }
+
+        /**
+         * @return the path of a node relative to one of its ancestors having the given path
+         */
+        PathSegment path(int position, int ancestor, PathSegment ancestorPath) {
+            if (position == ancestor) {
+                return ancestorPath;
+            }
+            PathSegment parentPath = path(parents[position], ancestor, ancestorPath);
+            return names[position] != null ? parentPath.property(names[position]) : parentPath.index(indexes[position]);
+        }
+
+        private void add(Object model, int parent, String name, int index) {
+            int position = size++;
+            if (position == nodes.length) {
+                int length = nodes.length * 2;
+                nodes = Arrays.copyOf(nodes, length);
+                parents = Arrays.copyOf(parents, length);
+                names = Arrays.copyOf(names, length);
+                indexes = Arrays.copyOf(indexes, length);
+                ends = Arrays.copyOf(ends, length);
+            }
+            nodes[position] = model;
+            parents[position] = parent;
+            names[position] = name;
+            indexes[position] = index;
+            // a node reachable from two places can not tell which of them a scan starts at
+            positions.put(model, positions.containsKey(model) ? DUPLICATE : position);
+
+            if (jsonProvider.isMap(model)) {
+                for (String property : jsonProvider.getPropertyKeys(model)) {
+                    List<Integer> list = propertyLists.get(property);
+                    if (list == null) {
+                        list = new ArrayList<Integer>();
+                        propertyLists.put(property, list);
+                    }
+                    list.add(position);
+                    Object child = jsonProvider.getMapValue(model, property);
+                    if (child != JsonProvider.UNDEFINED && (jsonProvider.isMap(child) || jsonProvider.isArray(child))) {
+                        add(child, position, property, 0);
+                    }
+                }
+            } else {
+                int idx = 0;
+                for (Object child : jsonProvider.toIterable(model)) {
+                    if (jsonProvider.isMap(child) || jsonProvider.isArray(child)) {
+                        add(child, position, null, idx);
+                    }
+                    idx++;
+                }
+            }
+            ends[position] = size;
+        }
+    }
+}
@@ -27,9 +27,11 @@ import com.jayway.jsonpath.spi.json.JsonProvider;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static com.jayway.jsonpath.internal.Utils.notNull;
 
@@ -42,14 +44,17 @@ public class EvaluationContextImpl implements EvaluationContext {
 
     private final Configuration configuration;
     private final Object valueResult;
-    private final Object pathResult;
+    private final List<PathSegment> pathResult;
     private final Path path;
     private final Object rootDocument;
     private final List<PathRef> updateOperations;
-    private final HashMap<Path, Object> documentEvalCache = new HashMap<Path, Object>();
+    private final Map<Path, Object> documentEvalCache = new IdentityHashMap<Path, Object>();
     private final boolean forUpdate;
     private final boolean suppressExceptions;
     private int resultIndex = 0;
+    private Map<PathToken, Integer> upstreamArrayIndexes;
+    private DocumentIndex documentIndex;
+    private PredicateContextImpl predicateContext;
 
     //private Object paramsRootDocument;
 
@@ -73,28 +78,106 @@ public class EvaluationContextImpl implements EvaluationContext {
         this.rootDocument = rootDocument;
         this.configuration = configuration;
         this.valueResult = configuration.jsonProvider().createArray();
-        this.pathResult = configuration.jsonProvider().createArray();
+        this.pathResult = new ArrayList<PathSegment>();
         this.updateOperations = new ArrayList<>();
         this.suppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
 
     }
 
-    public HashMap<Path, Object> documentEvalCache() {
+    /**
+     * @return the values of root paths referenced by filters, by path. The values are kept by the document index
+     * when the configuration lets the document remember them, and by this evaluation otherwise.
+     */
+    public Map<Path, Object> documentEvalCache() {
+        if (documentIndex != null && configuration.containsOption(Option.MEMOIZE_ROOT_PATHS)) {
+            return documentIndex.rootPathValues();
+        }
         return documentEvalCache;
     }
 
+    /**
+     * @return the context filters of this evaluation are applied to the given item with. The context is reused for
+     * every filtered item, it is only valid until the next item is filtered.
+     */
+    PredicateContextImpl predicateContext(Object item) {
+        PredicateContextImpl context = predicateContext;
+        if (context == null) {
+            context = new PredicateContextImpl(item, rootDocument, configuration, documentEvalCache());
+            predicateContext = context;
+        } else {
+            context.setItem(item);
+        }
+        return context;
+    }
+
     public boolean forUpdate(){
         return forUpdate;
     }
 
-    public void addResult(String path, PathRef operation, Object model) {
+    /**
+     * @return the index of the document deep scans and equality filters may be answered from, or null
+     */
+    DocumentIndex documentIndex() {
+        return documentIndex;
+    }
+
+    void setDocumentIndex(DocumentIndex documentIndex) {
+        this.documentIndex = documentIndex;
+    }
+
+    /**
+     * Creates a context that continues the evaluation of this context for one part of the document, possibly on
+     * another thread. The results of the fork are added to this context by {@link #addResults(EvaluationContextImpl)}.
+     */
+    EvaluationContextImpl fork() {
+        EvaluationContextImpl fork = new ForkedContext(path, rootDocument, configuration, forUpdate);
+        fork.documentIndex = documentIndex;
+        if (upstreamArrayIndexes != null) {
+            fork.upstreamArrayIndexes = new IdentityHashMap<PathToken, Integer>(upstreamArrayIndexes);
+        }
+        return fork;
+    }
+
+    /**
+     * Adds the results of a fork of this context, in the order the fork found them.
+     */
+    void addResults(EvaluationContextImpl fork) {
+        ForkedContext forked = (ForkedContext) fork;
+        for (int i = 0; i < forked.paths.size(); i++) {
+            addResult(forked.paths.get(i), forked.operations.get(i), forked.values.get(i));
+        }
+    }
+
+    /**
+     * Records the array index a deep scan is currently visiting for the given token. This is evaluation state and
+     * is kept here, and not on the token, since compiled paths are shared between threads.
+     */
+    void setUpstreamArrayIndex(PathToken token, int idx) {
+        if (upstreamArrayIndexes == null) {
+            upstreamArrayIndexes = new IdentityHashMap<PathToken, Integer>();
+        }
+        upstreamArrayIndexes.put(token, idx);
+    }
+
+    /**
+     * @return the array index last recorded for the given token by a deep scan, or -1 if none was recorded
+     */
+    int upstreamArrayIndex(PathToken token) {
+        if (upstreamArrayIndexes == null) {
+            return -1;
+        }
+        Integer idx = upstreamArrayIndexes.get(token);
+        return idx == null ? -1 : idx;
+    }
+
+    public void addResult(PathSegment path, PathRef operation, Object model) {
 
         if(forUpdate) {
             updateOperations.add(operation);
         }
 
         configuration.jsonProvider().setArrayIndex(valueResult, resultIndex, model);
-        configuration.jsonProvider().setArrayIndex(pathResult, resultIndex, path);
+        pathResult.add(path);
         resultIndex++;
         if(!configuration().getEvaluationListeners().isEmpty()){
             int idx = resultIndex - 1;
@@ -149,7 +232,7 @@ public class EvaluationContextImpl implements EvaluationContext {
                 if (suppressExceptions) {
                     return null;
                 }
-                throw new PathNotFoundException("No results for path: " + path.toString());
+                throw PathNotFoundException.withLazyMessage("No results for path: %s", path);
             }
             int len = jsonProvider().length(valueResult);
             Object value = (len > 0) ? jsonProvider().getArrayIndex(valueResult, len-1) : null;
@@ -168,23 +251,71 @@ public class EvaluationContextImpl implements EvaluationContext {
             if (suppressExceptions) {
                 return null;
             }
-            throw new PathNotFoundException("No results for path: " + path.toString());
+            throw PathNotFoundException.withLazyMessage("No results for path: %s", path);
         }
-        return (T)pathResult;
+        Object paths = configuration.jsonProvider().createArray();
+        for (int i = 0; i < pathResult.size(); i++) {
+            configuration.jsonProvider().setArrayIndex(paths, i, pathResult.get(i).toString());
+        }
+        return (T)paths;
     }
 
     @Override
     public List<String> getPathList() {
-        List<String> res = new ArrayList<String>();
-        if(resultIndex > 0){
-            Iterable<?> objects = configuration.jsonProvider().toIterable(pathResult);
-            for (Object o : objects) {
-                res.add((String)o);
-            }
+        List<String> res = new ArrayList<String>(pathResult.size());
+        for (PathSegment p : pathResult) {
+            res.add(p.toString());
         }
         return res;
     }
 
+    @Override
+    public boolean hasResults() {
+        return resultIndex > 0;
+    }
+
+    /**
+     * Creates a context handing every result to the consumer as it is found instead of collecting the results.
+     */
+    static EvaluationContextImpl streaming(Path path, Object rootDocument, Configuration configuration, Consumer<Object> consumer) {
+        return new StreamingContext(path, rootDocument, configuration, consumer);
+    }
+
+    private static final class StreamingContext extends EvaluationContextImpl {
+        private final Consumer<Object> consumer;
+
+        private StreamingContext(Path path, Object rootDocument, Configuration configuration, Consumer<Object> consumer) {
+            super(path, rootDocument, configuration, false);
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void addResult(PathSegment path, PathRef operation, Object model) {
+            consumer.accept(model);
+        }
+    }
+
+    /**
+     * Collects results without notifying listeners, they are notified when the results are added to the context
+     * the fork was created from.
+     */
+    private static final class ForkedContext extends EvaluationContextImpl {
+        private final List<PathSegment> paths = new ArrayList<PathSegment>();
+        private final List<PathRef> operations = new ArrayList<PathRef>();
+        private final List<Object> values = new ArrayList<Object>();
+
+        private ForkedContext(Path path, Object rootDocument, Configuration configuration, boolean forUpdate) {
+            super(path, rootDocument, configuration, forUpdate);
+        }
+
+        @Override
+        public void addResult(PathSegment path, PathRef operation, Object model) {
+            paths.add(path);
+            operations.add(operation);
+            values.add(model);
+        }
+    }
+
     /*
     public Object paramsRootDocument() {
         return paramsRootDocument;
@@ -194,10 +325,10 @@ public class EvaluationContextImpl implements EvaluationContext {
     private static class FoundResultImpl implements EvaluationListener.FoundResult {
 
         private final int index;
-        private final String path;
+        private final PathSegment path;
         private final Object result;
 
-        private FoundResultImpl(int index, String path, Object result) {
+        private FoundResultImpl(int index, PathSegment path, Object result) {
             this.index = index;
             this.path = path;
             this.result = result;
@@ -210,7 +341,7 @@ public class EvaluationContextImpl implements EvaluationContext {
 
         @Override
         public String path() {
-            return path;
+            return path.toString();
         }
 
         @Override
@@ -1,14 +1,21 @@
 package com.jayway.jsonpath.internal.path;
 
-import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.internal.EvaluationAbortException;
 import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.function.IncrementalPathFunction;
+import com.jayway.jsonpath.internal.function.ParamType;
 import com.jayway.jsonpath.internal.function.Parameter;
 import com.jayway.jsonpath.internal.function.PathFunction;
 import com.jayway.jsonpath.internal.function.PathFunctionFactory;
+import com.jayway.jsonpath.internal.function.json.Append;
 import com.jayway.jsonpath.internal.function.latebinding.JsonLateBindingValue;
 import com.jayway.jsonpath.internal.function.latebinding.PathLateBindingValue;
+import com.jayway.jsonpath.spi.json.JsonProvider;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Token representing a Function call to one of the functions produced via the FunctionFactory
@@ -19,8 +26,15 @@ import java.util.List;
  */
 public class FunctionPathToken extends PathToken {
 
+    private static final EvaluationAbortException STREAM_COMPLETE = new EvaluationAbortException();
+
     private final String functionName;
     private final String pathFragment;
+    // resolved once, functions keep no state between invocations; a function unknown when the path is compiled is
+    // resolved when the path is first evaluated, and fails then if it is still unknown
+    private volatile PathFunction function;
+    // the parameters as written in the path, a scan inverted into the function adds its path in front
+    private final List<Parameter> writtenParams;
     private List<Parameter> functionParams;
 
     public FunctionPathToken(String pathFragment, List<Parameter> parameters) {
@@ -32,60 +46,142 @@ public class FunctionPathToken extends PathToken {
             functionName = null;
             functionParams = null;
         }
+        writtenParams = functionParams;
+        function = functionName != null ? PathFunctionFactory.findFunction(functionName) : null;
+        if (function != null) {
+            checkParameters(function.getParameterTypes());
+        }
+    }
+
+    /**
+     * Resolves a function that was not known when the path was compiled, like a function registered after that.
+     */
+    private PathFunction resolveFunction() {
+        PathFunction resolved = PathFunctionFactory.newFunction(functionName);
+        checkParameters(resolved.getParameterTypes());
+        function = resolved;
+        return resolved;
+    }
+
+    private void checkParameters(ParamType[] types) {
+        if (types == null) {
+            return;
+        }
+        int count = writtenParams == null ? 0 : writtenParams.size();
+        if (count != types.length) {
+            throw new InvalidPathException(String.format("Function %s takes %d parameters, found %d", functionName, types.length, count));
+        }
+        for (int i = 0; i < count; i++) {
+            if (writtenParams.get(i).getType() != types[i]) {
+                throw new InvalidPathException(String.format("Parameter %d of function %s must be of type %s", i + 1, functionName, types[i]));
+            }
+        }
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
-        PathFunction pathFunction = PathFunctionFactory.newFunction(functionName);
-        evaluateParameters(currentPath, parent, model, ctx);
-        Object result = pathFunction.invoke(currentPath, parent, model, ctx, functionParams);
-        ctx.addResult(currentPath + "." + functionName, parent, result);
-        cleanWildcardPathToken();
+    public void evaluate(PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+        PathFunction pathFunction = function;
+        if (pathFunction == null) {
+            pathFunction = resolveFunction();
+        }
+        Object result;
+        if (isStreamable(pathFunction, model, ctx)) {
+            final IncrementalPathFunction.Accumulation accumulation =
+                    ((IncrementalPathFunction) pathFunction).start(model, ctx, evaluateParameters(ctx, 1));
+            final JsonProvider jsonProvider = ctx.jsonProvider();
+            ((CompiledPath) functionParams.get(0).getPath()).stream(model, model, ctx.configuration(), ctx.documentIndex(),
+                    new Consumer<Object>() {
+                        @Override
+                        public void accept(Object value) {
+                            accumulation.next(jsonProvider.unwrap(value));
+                            if (accumulation.isComplete()) {
+                                throw STREAM_COMPLETE;
+                            }
+                        }
+                    });
+            result = accumulation.getResult();
+        } else {
+            List<Parameter> parameters = evaluateParameters(ctx, 0);
+            result = pathFunction.invoke(currentPath.toString(), parent, model, ctx, parameters);
+        }
+        ctx.addResult(currentPath.fragment("." + functionName), parent, result);
         if (!isLeaf()) {
             next().evaluate(currentPath, parent, result, ctx);
         }
     }
 
-    private void cleanWildcardPathToken() {
-        if (null != functionParams && functionParams.size() > 0) {
-            Path path = functionParams.get(0).getPath();
-            if (null != path && !path.isFunctionPath() && path instanceof CompiledPath) {
-                RootPathToken root = ((CompiledPath) path).getRoot();
-                PathToken tail = root.getNext();
-                while (null != tail && null != tail.getNext() ) {
-                    if(tail.getNext() instanceof WildcardPathToken){
-                        tail.setNext(tail.getNext().getNext());
-                        break;
-                    }
-                    tail = tail.getNext();
+    /**
+     * @return true if evaluating the function may modify the document, like append() does. The other built in
+     * functions and incremental functions only read the document, functions of providers may do anything.
+     */
+    boolean mayModifyDocument() {
+        PathFunction pathFunction = function;
+        if (pathFunction instanceof IncrementalPathFunction) {
+            return false;
+        }
+        if (!PathFunctionFactory.FUNCTIONS.containsKey(functionName) || pathFunction instanceof Append) {
+            return true;
+        }
+        if (functionParams != null) {
+            for (Parameter parameter : functionParams) {
+                if (parameter.getType() == ParamType.PATH && parameter.getPath() instanceof CompiledPath
+                        && ((CompiledPath) parameter.getPath()).mayModifyDocument()) {
+                    return true;
                 }
             }
         }
+        return false;
     }
 
-    private void evaluateParameters(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
-
-        if (null != functionParams) {
-            for (Parameter param : functionParams) {
-                    switch (param.getType()) {
-                    case PATH:
-                        PathLateBindingValue pathLateBindingValue = new PathLateBindingValue(param.getPath(), ctx.rootDocument(), ctx.configuration());
-                        if (!param.hasEvaluated()||!pathLateBindingValue.equals(param.getILateBingValue())) {
-                            param.setLateBinding(pathLateBindingValue);
-                            //param.setCachedValue(param.getPath().evaluate(ctx.paramsRootDocument(), ctx.paramsRootDocument(), ctx.configuration()).getValue());
-                            param.setEvaluated(true);
-                        }
-                        break;
-                    case JSON:
-                        if (!param.hasEvaluated()) {
-                            param.setLateBinding(new JsonLateBindingValue(ctx.configuration().jsonProvider(), param));
-                            //param.setCachedValue(ctx.configuration().jsonProvider().parse(param.getJson()));
-                            param.setEvaluated(true);
+    /**
+     * A function whose first parameter is a path that matches any number of values, like the function of
+     * "$..price.sum()", can consume the matches as they are found instead of an array collecting them. Path parameters
+     * are evaluated against the root document, and functions like length() against the model, the matches are only
+     * streamed when both are the same.
+     */
+    private boolean isStreamable(PathFunction pathFunction, Object model, EvaluationContextImpl ctx) {
+        if (!(pathFunction instanceof IncrementalPathFunction) || functionParams == null || functionParams.isEmpty()
+                || model != ctx.rootDocument() || !ctx.configuration().getEvaluationListeners().isEmpty()) {
+            return false;
+        }
+        Parameter parameter = functionParams.get(0);
+        return parameter.getType() == ParamType.PATH && parameter.getPath() instanceof CompiledPath
+                && parameter.getPath().isRootPath() && !parameter.getPath().isDefinite()
+                && !parameter.getPath().isFunctionPath();
+    }
+
+    /**
+     * Binds the function parameters for this evaluation. The compiled parameters are shared by every thread
+     * evaluating this path, so path parameters are bound to copies holding this evaluation's root document.
+     * JSON parameters are constants and are bound once. The parameters before the given index are skipped.
+     */
+    private List<Parameter> evaluateParameters(EvaluationContextImpl ctx, int from) {
+        if (null == functionParams) {
+            return null;
+        }
+        List<Parameter> parameters = new ArrayList<Parameter>(functionParams.size());
+        for (Parameter param : functionParams.subList(from, functionParams.size())) {
+            switch (param.getType()) {
+                case PATH:
+                    parameters.add(param.bind(new PathLateBindingValue(param.getPath(), ctx.rootDocument(), ctx.configuration())));
+                    break;
+                case JSON:
+                    if (!param.hasEvaluated()) {
+                        synchronized (param) {
+                            if (!param.hasEvaluated()) {
+                                param.setLateBinding(new JsonLateBindingValue(ctx.configuration().jsonProvider(), param));
+                                param.setEvaluated(true);
+                            }
                         }
-                        break;
-                }
+                    }
+                    parameters.add(param);
+                    break;
+                default:
+                    parameters.add(param);
+                    break;
             }
         }
+        return parameters;
     }
 
     /**
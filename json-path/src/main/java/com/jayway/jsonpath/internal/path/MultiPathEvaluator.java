@@ -0,0 +1,269 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.PathRef;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates many paths in one walk of a document. The paths are merged into a prefix trie of path tokens, a prefix
+ * shared by several paths, like <code>$.order.items[*]</code>, is evaluated once and every value it reaches is
+ * handed to the remaining tokens of each of the paths.
+ *
+ * Only properties, array indexes and slices, wildcards and filters are shared. The remaining tokens of a path,
+ * starting at the first token that is not shared or at its last token, are the tokens of the compiled path itself,
+ * so each path is evaluated into its own {@link EvaluationContext} exactly as a single evaluation would.
+ */
+public final class MultiPathEvaluator {
+
+    private final CompiledPath[] paths;
+    private final PathToken[] tails;
+    private final Node root = new Node(null);
+
+    private MultiPathEvaluator(List<String> paths) {
+        this.paths = new CompiledPath[paths.size()];
+        this.tails = new PathToken[paths.size()];
+        for (int i = 0; i < this.paths.length; i++) {
+            this.paths[i] = (CompiledPath) PathCompiler.compile(paths.get(i));
+        }
+        for (int i = 0; i < this.paths.length; i++) {
+            add(i, paths.get(i));
+        }
+    }
+
+    /**
+     * @param paths the paths to evaluate, function paths are not supported
+     * @return an evaluator for the paths
+     */
+    public static MultiPathEvaluator create(List<String> paths) {
+        return new MultiPathEvaluator(paths);
+    }
+
+    /**
+     * @param index index of the path
+     * @return the compiled path
+     */
+    public Path getPath(int index) {
+        return paths[index];
+    }
+
+    /**
+     * Evaluates all paths on the given document.
+     *
+     * @param document the document
+     * @param configuration configuration to use, it must not have evaluation listeners
+     * @return the evaluation of each path
+     */
+    public Results evaluate(Object document, Configuration configuration) {
+        Evaluation evaluation = new Evaluation(document, configuration);
+        evaluation.dispatch(root, null, document);
+        return new Results(evaluation.contexts, evaluation.failures);
+    }
+
+    private void add(int index, String source) {
+        Node node = root;
+        node.paths.add(index);
+        PathToken token = paths[index].getRoot();
+        int depth = 0;
+        while (isShared(token, depth)) {
+            String key = key(token);
+            Node child = node.children.get(key);
+            if (child == null) {
+                child = new Node(copy(source, depth));
+                node.children.put(key, child);
+            }
+            node = child;
+            node.paths.add(index);
+            token = token.next();
+            depth++;
+        }
+        tails[index] = token;
+        node.tails.add(index);
+    }
+
+    private static boolean isShared(PathToken token, int depth) {
+        if (token.isLeaf()) {
+            return false;
+        }
+        if (depth == 0) {
+            return !((RootPathToken) token).isFunctionPath();
+        }
+        return token instanceof PropertyPathToken
+                || token instanceof ArrayPathToken
+                || token instanceof WildcardPathToken
+                || token instanceof PredicatePathToken;
+    }
+
+    private static String key(PathToken token) {
+        if (token instanceof PredicatePathToken) {
+            return "[?" + ((PredicatePathToken) token).getPredicates() + "]";
+        }
+        return token.getPathFragment();
+    }
+
+    /**
+     * Compiles the path again and returns its token at the given depth. The token is evaluated in place of the
+     * tokens of all paths sharing it, the copy keeps the tokens before it, so it behaves like the token of each of
+     * these paths.
+     */
+    private static PathToken copy(String source, int depth) {
+        PathToken token = ((CompiledPath) PathCompiler.compile(source)).getRoot();
+        for (int i = 0; i < depth; i++) {
+            token = token.next();
+        }
+        return token;
+    }
+
+    /**
+     * The evaluation of every path, holding the exception that stopped the evaluation of a path.
+     */
+    public static final class Results {
+        private final EvaluationContextImpl[] contexts;
+        private final JsonPathException[] failures;
+
+        private Results(EvaluationContextImpl[] contexts, JsonPathException[] failures) {
+            this.contexts = contexts;
+            this.failures = failures;
+        }
+
+        /**
+         * @param index index of the path
+         * @return the evaluation context of the path
+         * @throws JsonPathException the exception the evaluation of the path failed with
+         */
+        public EvaluationContext get(int index) {
+            if (failures[index] != null) {
+                throw failures[index];
+            }
+            return contexts[index];
+        }
+    }
+
+    private static final class Node {
+        private final PathToken token;
+        private final Map<String, Node> children = new LinkedHashMap<String, Node>();
+        private final List<Integer> tails = new ArrayList<Integer>();
+        private final List<Integer> paths = new ArrayList<Integer>();
+
+        private Node(PathToken token) {
+            this.token = token;
+            if (token != null) {
+                token.appendTailToken(new ForkPathToken(this));
+            }
+        }
+    }
+
+    /**
+     * Ends a shared prefix, handing the values reached by it to the tokens following the prefix.
+     */
+    private static final class ForkPathToken extends PathToken {
+        private final Node node;
+
+        private ForkPathToken(Node node) {
+            this.node = node;
+        }
+
+        @Override
+        public void evaluate(PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+            ((Evaluation) ctx).dispatch(node, currentPath, model);
+        }
+
+        @Override
+        public boolean isTokenDefinite() {
+            return true;
+        }
+
+        @Override
+        protected String getPathFragment() {
+            return "";
+        }
+    }
+
+    /**
+     * The context shared prefixes are evaluated in, it only provides the document and the configuration. Results
+     * are added to the context of each path.
+     */
+    private final class Evaluation extends EvaluationContextImpl {
+        private final EvaluationContextImpl[] contexts;
+        private final JsonPathException[] failures;
+        private int failureCount;
+
+        private Evaluation(Object document, Configuration configuration) {
+            super(paths[0], document, configuration, false);
+            this.contexts = new EvaluationContextImpl[paths.length];
+            this.failures = new JsonPathException[paths.length];
+            for (int i = 0; i < paths.length; i++) {
+                contexts[i] = new EvaluationContextImpl(paths[i], document, configuration, false);
+            }
+        }
+
+        private void dispatch(Node node, PathSegment currentPath, Object model) {
+            for (int i : node.tails) {
+                if (failures[i] != null) {
+                    continue;
+                }
+                try {
+                    tails[i].evaluate(currentPath, PathRef.NO_OP, model, contexts[i]);
+                } catch (JsonPathException e) {
+                    fail(i, e);
+                }
+            }
+            for (Node child : node.children.values()) {
+                if (failureCount > 0 && !evaluated(child)) {
+                    continue;
+                }
+                try {
+                    child.token.evaluate(currentPath, PathRef.NO_OP, model, this);
+                } catch (JsonPathException e) {
+                    for (int i : child.paths) {
+                        fail(i, e);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return true if a path below the node has not failed yet
+         */
+        private boolean evaluated(Node node) {
+            for (int i : node.paths) {
+                if (failures[i] == null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void fail(int index, JsonPathException e) {
+            if (failures[index] == null) {
+                failures[index] = e;
+                failureCount++;
+            }
+        }
+
+        @Override
+        public void addResult(PathSegment path, PathRef operation, Object model) {
+            throw new IllegalStateException("Shared path prefixes do not add results");
+        }
+    }
+}
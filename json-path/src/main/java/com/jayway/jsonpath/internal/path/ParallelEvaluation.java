@@ -0,0 +1,110 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Option;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates the children of a large array or object in parallel on the common {@link ForkJoinPool}. The children
+ * are split into contiguous chunks, each chunk is evaluated into a fork of the evaluation context and the results of
+ * the chunks are added to the context in document order, so results and their order are the same as for a
+ * sequential evaluation. Evaluations with listeners are not split, a listener can abort the evaluation after any
+ * result and the chunks would only be stopped once all of them are done.
+ */
+final class ParallelEvaluation {
+
+    private ParallelEvaluation() {
+    }
+
+    interface Task {
+        /**
+         * Evaluates the child with the given index into the given context.
+         */
+        void evaluate(int index, EvaluationContextImpl ctx);
+    }
+
+    /**
+     * @return true if a container with the given number of children is evaluated in parallel
+     */
+    static boolean isParallel(EvaluationContextImpl ctx, int size) {
+        int threshold = ctx.configuration().getParallelThreshold();
+        return threshold > 0
+                && size >= threshold
+                && size > 1
+                && !ctx.forUpdate()
+                && ctx.configuration().getEvaluationListeners().isEmpty()
+                && !ctx.options().contains(Option.CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH);
+    }
+
+    static void evaluate(EvaluationContextImpl ctx, int size, Task task) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int chunkCount = Math.min(size, Math.max(2, pool.getParallelism() * 4));
+        final List<Chunk> chunks = new ArrayList<Chunk>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            chunks.add(new Chunk(ctx.fork(), task, (int) ((long) size * i / chunkCount), (int) ((long) size * (i + 1) / chunkCount)));
+        }
+        if (ForkJoinTask.inForkJoinPool()) {
+            ForkJoinTask.invokeAll(chunks);
+        } else {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(chunks);
+                }
+            });
+        }
+        for (Chunk chunk : chunks) {
+            ctx.addResults(chunk.ctx);
+            if (chunk.failure != null) {
+                // a sequential evaluation would have stopped here
+                throw chunk.failure;
+            }
+        }
+    }
+
+    private static final class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final EvaluationContextImpl ctx;
+        private final Task task;
+        private final int from;
+        private final int to;
+        private RuntimeException failure;
+
+        private Chunk(EvaluationContextImpl ctx, Task task, int from, int to) {
+            this.ctx = ctx;
+            this.task = task;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                for (int i = from; i < to; i++) {
+                    task.evaluate(i, ctx);
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+    }
+}
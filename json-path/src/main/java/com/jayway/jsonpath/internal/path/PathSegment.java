@@ -0,0 +1,87 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+/**
+ * The location of a value while a path is evaluated. Each segment links to its parent, the path string
+ * (e.g. <code>$['store']['book'][0]</code>) is only rendered by {@link #toString()} when a result path, a listener
+ * or an error message asks for it.
+ */
+public final class PathSegment {
+
+    private final PathSegment parent;
+    private final String property;
+    private final int index;
+    private final String fragment;
+
+    private PathSegment(PathSegment parent, String property, int index, String fragment) {
+        this.parent = parent;
+        this.property = property;
+        this.index = index;
+        this.fragment = fragment;
+    }
+
+    /**
+     * @param rootToken the root of the path, <code>$</code> or <code>@</code>
+     * @return a root segment
+     */
+    public static PathSegment root(String rootToken) {
+        return new PathSegment(null, null, 0, rootToken);
+    }
+
+    /**
+     * @param property property name
+     * @return a segment rendered as <code>['property']</code>
+     */
+    public PathSegment property(String property) {
+        return new PathSegment(this, property, 0, null);
+    }
+
+    /**
+     * @param index array index
+     * @return a segment rendered as <code>[index]</code>
+     */
+    public PathSegment index(int index) {
+        return new PathSegment(this, null, index, null);
+    }
+
+    /**
+     * @param fragment a path fragment
+     * @return a segment rendered as the given fragment
+     */
+    public PathSegment fragment(String fragment) {
+        return new PathSegment(this, null, 0, fragment);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        appendTo(sb);
+        return sb.toString();
+    }
+
+    private void appendTo(StringBuilder sb) {
+        if (parent != null) {
+            parent.appendTo(sb);
+        }
+        if (fragment != null) {
+            sb.append(fragment);
+        } else if (property != null) {
+            sb.append("['").append(property).append("']");
+        } else {
+            sb.append('[').append(index).append(']');
+        }
+    }
+}
@@ -30,12 +30,6 @@ public abstract class PathToken {
     private PathToken next;
     private Boolean definite = null;
     private Boolean upstreamDefinite = null;
-    private int upstreamArrayIndex = -1;
-
-
-    public void setUpstreamArrayIndex(int idx){
-        upstreamArrayIndex = idx;
-    }
 
     PathToken appendTailToken(PathToken next) {
         this.next = next;
@@ -43,11 +37,11 @@ public abstract class PathToken {
         return next;
     }
 
-    void handleObjectProperty(String currentPath, Object model, EvaluationContextImpl ctx, List<String> properties) {
+    void handleObjectProperty(PathSegment currentPath, Object model, EvaluationContextImpl ctx, List<String> properties) {
 
         if(properties.size() == 1) {
             String property = properties.get(0);
-            String evalPath = Utils.concat(currentPath, "['", property, "']");
+            PathSegment evalPath = currentPath.property(property);
             Object propertyVal = readObjectProperty(property, model, ctx);
             if(propertyVal == JsonProvider.UNDEFINED){
                 // Conditions below heavily depend on current token type (and its logic) and are not "universal",
@@ -68,7 +62,7 @@ public abstract class PathToken {
                            !ctx.options().contains(Option.REQUIRE_PROPERTIES)){
                             return;
                         } else {
-                            throw new PathNotFoundException("No results for path: " + evalPath);
+                            throw PathNotFoundException.withLazyMessage("No results for path: %s", evalPath);
                         }
                     }
                 } else {
@@ -83,15 +77,15 @@ public abstract class PathToken {
                         //When we are in a CREATE DEFINITE PATH mode, then do not throw
                         if (!ctx.options().contains(Option.CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH)
                                         || !isUpstreamDefinite() && isTokenDefinite()) {
-                            throw new PathNotFoundException("Missing property in path " + evalPath);
+                            throw PathNotFoundException.withLazyMessage("Missing property in path %s", evalPath);
                         }
                     }
                 }
             }
             PathRef pathRef = ctx.forUpdate() ? PathRef.create(model, property) : PathRef.NO_OP;
             if (isLeaf()) {
-                String idx = "[" + String.valueOf(upstreamArrayIndex) + "]";
-                if(idx.equals("[-1]") || ctx.getRoot().getTail().prev().getPathFragment().equals(idx)){
+                int upstreamArrayIndex = ctx.upstreamArrayIndex(this);
+                if(upstreamArrayIndex == -1 || ctx.getRoot().getTail().prev().getPathFragment().equals("[" + upstreamArrayIndex + "]")){
                     ctx.addResult(evalPath, pathRef, propertyVal);
                 }
             }
@@ -109,7 +103,7 @@ public abstract class PathToken {
                 next().evaluate(evalPath, pathRef, propertyVal, ctx);
             }
         } else {
-            String evalPath = currentPath + "[" + Utils.join(", ", "'", properties) + "]";
+            PathSegment evalPath = currentPath.fragment("[" + Utils.join(", ", "'", properties) + "]");
 
             assert isLeaf() : "non-leaf multi props handled elsewhere";
 
@@ -129,7 +123,7 @@ public abstract class PathToken {
                     if(ctx.options().contains(Option.DEFAULT_PATH_LEAF_TO_NULL)){
                         propertyVal = null;
                     } else if (ctx.options().contains(Option.REQUIRE_PROPERTIES)) {
-                        throw new PathNotFoundException("Missing property in path " + evalPath);
+                        throw PathNotFoundException.withLazyMessage("Missing property in path %s", evalPath);
                     } else {
                         continue;
                     }
@@ -150,8 +144,8 @@ public abstract class PathToken {
     }
 
 
-    protected void handleArrayIndex(int index, String currentPath, Object model, EvaluationContextImpl ctx) {
-        String evalPath = Utils.concat(currentPath, "[", String.valueOf(index), "]");
+    protected void handleArrayIndex(int index, PathSegment currentPath, Object model, EvaluationContextImpl ctx) {
+        PathSegment evalPath = currentPath.index(index);
         PathRef pathRef = ctx.forUpdate() ? PathRef.create(model, index) : PathRef.NO_OP;
         int effectiveIndex = index < 0 ? ctx.jsonProvider().length(model) + index : index;
         try {
@@ -259,11 +253,11 @@ public abstract class PathToken {
         return super.equals(obj);
     }
 
-    public void invoke(PathFunction pathFunction, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
-        ctx.addResult(currentPath, parent, pathFunction.invoke(currentPath, parent, model, ctx, null));
+    public void invoke(PathFunction pathFunction, PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+        ctx.addResult(currentPath, parent, pathFunction.invoke(currentPath.toString(), parent, model, ctx, null));
     }
 
-    public abstract void evaluate(String currentPath, PathRef parent,  Object model, EvaluationContextImpl ctx);
+    public abstract void evaluate(PathSegment currentPath, PathRef parent,  Object model, EvaluationContextImpl ctx);
 
     public abstract boolean isTokenDefinite();
 
@@ -21,30 +21,37 @@ import com.jayway.jsonpath.spi.mapper.MappingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.Map;
 
 public class PredicateContextImpl implements Predicate.PredicateContext {
 
     private static final Logger logger = LoggerFactory.getLogger(PredicateContextImpl.class);
 
-    private final Object contextDocument;
+    private Object contextDocument;
     private final Object rootDocument;
     private final Configuration configuration;
-    private final HashMap<Path, Object> documentPathCache;
+    private final Map<Path, Object> documentPathCache;
 
-    public PredicateContextImpl(Object contextDocument, Object rootDocument, Configuration configuration, HashMap<Path, Object> documentPathCache) {
+    public PredicateContextImpl(Object contextDocument, Object rootDocument, Configuration configuration, Map<Path, Object> documentPathCache) {
         this.contextDocument = contextDocument;
         this.rootDocument = rootDocument;
         this.configuration = configuration;
         this.documentPathCache = documentPathCache;
     }
 
+    /**
+     * Moves the context to another item, a context is reused for every item one evaluation filters.
+     */
+    void setItem(Object contextDocument) {
+        this.contextDocument = contextDocument;
+    }
+
     public Object evaluate(Path path){
         Object result;
         if(path.isRootPath()){
-            if(documentPathCache.containsKey(path)){
-                logger.debug("Using cached result for root path: " + path.toString());
-                result = documentPathCache.get(path);
+            result = documentPathCache.get(path);
+            if(result != null || documentPathCache.containsKey(path)){
+                logger.debug("Using cached result for root path: {}", path);
             } else {
                 result = path.evaluate(rootDocument, rootDocument, configuration).getValue();
                 documentPathCache.put(path, result);
@@ -55,7 +62,7 @@ public class PredicateContextImpl implements Predicate.PredicateContext {
         return result;
     }
 
-    public HashMap<Path, Object> documentPathCache() {
+    public Map<Path, Object> documentPathCache() {
         return documentPathCache;
     }
 
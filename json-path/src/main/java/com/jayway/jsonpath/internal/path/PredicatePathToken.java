@@ -14,10 +14,11 @@
  */
 package com.jayway.jsonpath.internal.path;
 
-import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.Predicate;
 import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.filter.EqualityLookup;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -31,7 +32,11 @@ import static java.util.Arrays.asList;
 public class PredicatePathToken extends PathToken {
 
 
+    private static final Object NO_LOOKUP = new Object();
+
     private final Collection<Predicate> predicates;
+    // the equality lookup of the filter, or NO_LOOKUP, found on first use
+    private volatile Object lookup;
 
     PredicatePathToken(Predicate filter) {
         this.predicates = Collections.singletonList(filter);
@@ -41,10 +46,14 @@ public class PredicatePathToken extends PathToken {
         this.predicates = predicates;
     }
 
+    Collection<Predicate> getPredicates() {
+        return predicates;
+    }
+
     @Override
-    public void evaluate(String currentPath, PathRef ref, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(PathSegment currentPath, PathRef ref, Object model, EvaluationContextImpl ctx) {
         if (ctx.jsonProvider().isMap(model)) {
-            if (accept(model, ctx.rootDocument(), ctx.configuration(), ctx)) {
+            if (accept(model, ctx)) {
                 PathRef op = ctx.forUpdate() ? ref : PathRef.NO_OP;
                 if (isLeaf()) {
                     ctx.addResult(currentPath, op, model);
@@ -53,11 +62,20 @@ public class PredicatePathToken extends PathToken {
                 }
             }
         } else if (ctx.jsonProvider().isArray(model)){
+            int[] candidates = candidates(model, ctx);
+            if (candidates != null) {
+                for (int idx : candidates) {
+                    if (accept(ctx.jsonProvider().getArrayIndex(model, idx), ctx)) {
+                        handleArrayIndex(idx, currentPath, model, ctx);
+                    }
+                }
+                return;
+            }
             int idx = 0;
             Iterable<?> objects = ctx.jsonProvider().toIterable(model);
 
             for (Object idxModel : objects) {
-                if (accept(idxModel, ctx.rootDocument(),  ctx.configuration(), ctx)) {
+                if (accept(idxModel, ctx)) {
                     handleArrayIndex(idx, currentPath, model, ctx);
                 }
                 idx++;
@@ -69,8 +87,30 @@ public class PredicatePathToken extends PathToken {
         }
     }
 
-    public boolean accept(final Object obj, final Object root, final Configuration configuration, EvaluationContextImpl evaluationContext) {
-        Predicate.PredicateContext ctx = new PredicateContextImpl(obj, root, configuration, evaluationContext.documentEvalCache());
+    /**
+     * @return the positions of the items of the array the filter may match, taken from an equality index of the
+     * document, or null if the filter can not be answered from an index
+     */
+    private int[] candidates(Object array, EvaluationContextImpl ctx) {
+        DocumentIndex documentIndex = ctx.documentIndex();
+        if (documentIndex == null || ctx.forUpdate() || !ctx.options().contains(Option.INDEX_EQUALITY_FILTERS)) {
+            return null;
+        }
+        Object found = lookup;
+        if (found == null) {
+            found = predicates.size() == 1 ? EqualityLookup.of(predicates.iterator().next()) : null;
+            found = found == null ? NO_LOOKUP : found;
+            lookup = found;
+        }
+        if (found == NO_LOOKUP) {
+            return null;
+        }
+        EqualityLookup equalityLookup = (EqualityLookup) found;
+        return documentIndex.equalityIndex(array, equalityLookup, ctx.configuration()).candidates(equalityLookup.keys());
+    }
+
+    public boolean accept(final Object obj, EvaluationContextImpl evaluationContext) {
+        Predicate.PredicateContext ctx = evaluationContext.predicateContext(obj);
 
         for (Predicate predicate : predicates) {
             try {
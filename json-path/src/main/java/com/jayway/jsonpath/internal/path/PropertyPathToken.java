@@ -60,7 +60,7 @@ public class PropertyPathToken extends PathToken {
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
         // Can't assert it in ctor because isLeaf() could be changed later on.
         assert onlyOneIsTrueNonThrow(singlePropertyCase(), multiPropertyMergeCase(), multiPropertyIterationCase());
 
@@ -74,10 +74,10 @@ public class PropertyPathToken extends PathToken {
                         !ctx.options().contains(Option.CREATE_MISSING_PROPERTIES_ON_DEFINITE_PATH)) {
                     String m = model == null ? "null" : model.getClass().getName();
 
-                    throw new PathNotFoundException(String.format(
+                    throw PathNotFoundException.withLazyMessage(
                             "Expected to find an object with property %s in path %s but found '%s'. " +
                                     "This is not a json object according to the JsonProvider: '%s'.",
-                            getPathFragment(), currentPath, m, ctx.configuration().jsonProvider().getClass().getName()));
+                            getPathFragment(), currentPath, m, ctx.configuration().jsonProvider().getClass().getName());
                 }
             }
         }
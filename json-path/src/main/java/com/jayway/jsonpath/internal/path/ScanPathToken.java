@@ -18,7 +18,9 @@ import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.internal.PathRef;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  *
@@ -29,14 +31,60 @@ public class ScanPathToken extends PathToken {
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
 
         PathToken pt = next();
+        Predicate predicate = createScanPredicate(pt);
 
-        walk(pt, currentPath, parent,  model, ctx, createScanPredicate(pt, ctx));
+        if (!walkIndex(pt, currentPath, parent, model, ctx, predicate)) {
+            walk(pt, currentPath, parent, model, ctx, predicate);
+        }
+    }
+
+    /**
+     * Visits the nodes a walk would visit, in the same order, taking them from the scan index of the document.
+     *
+     * @return false if there is no index that can be used
+     */
+    private static boolean walkIndex(PathToken pt, PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
+        DocumentIndex documentIndex = ctx.documentIndex();
+        if (documentIndex == null || ctx.forUpdate() || !ctx.options().contains(Option.INDEX_DEEP_SCANS)) {
+            return false;
+        }
+        DocumentIndex.ScanIndex index = documentIndex.scanIndex();
+        int start = index.position(model);
+        if (start < 0) {
+            return false;
+        }
+        int end = index.end(start);
+        if (predicate instanceof PropertyPathTokenPredicate && ((PropertyPathTokenPredicate) predicate).requiresProperties(ctx)) {
+            // only objects having the property can match
+            int[] candidates = index.withProperty(((PropertyPathToken) pt).getProperties().get(0));
+            for (int i = DocumentIndex.ScanIndex.firstFrom(candidates, start); i < candidates.length && candidates[i] < end; i++) {
+                visitIndexed(pt, index, candidates[i], start, currentPath, parent, ctx, predicate);
+            }
+        } else {
+            for (int position = start; position < end; position++) {
+                visitIndexed(pt, index, position, start, currentPath, parent, ctx, predicate);
+            }
+        }
+        return true;
+    }
+
+    private static void visitIndexed(PathToken pt, DocumentIndex.ScanIndex index, int position, int start, PathSegment startPath, PathRef startParent, EvaluationContextImpl ctx, Predicate predicate) {
+        Object model = index.node(position);
+        if (predicate.matches(model, ctx)) {
+            PathSegment evalPath = index.path(position, start, startPath);
+            PathRef parent = position == start ? startParent : PathRef.NO_OP;
+            if (ctx.jsonProvider().isMap(model)) {
+                pt.evaluate(evalPath, parent, model, ctx);
+            } else {
+                evaluateArray(pt, evalPath, parent, model, ctx);
+            }
+        }
     }
 
-    public static void walk(PathToken pt, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
+    public static void walk(PathToken pt, PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
         if (ctx.jsonProvider().isMap(model)) {
             walkObject(pt, currentPath, parent, model, ctx, predicate);
         } else if (ctx.jsonProvider().isArray(model)) {
@@ -44,42 +92,67 @@ public class ScanPathToken extends PathToken {
         }
     }
 
-    public static void walkArray(PathToken pt, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
+    public static void walkArray(PathToken pt, PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
 
-        if (predicate.matches(model)) {
-            if (pt.isLeaf()) {
-                pt.evaluate(currentPath, parent, model, ctx);
-            } else {
-                PathToken next = pt.next();
-                Iterable<?> models = ctx.jsonProvider().toIterable(model);
-                int idx = 0;
-                for (Object evalModel : models) {
-                    String evalPath = currentPath + "[" + idx + "]";
-                    next.setUpstreamArrayIndex(idx);
-                    next.evaluate(evalPath, parent, evalModel, ctx);
-                    idx++;
-                }
-            }
+        if (predicate.matches(model, ctx)) {
+            evaluateArray(pt, currentPath, parent, model, ctx);
         }
 
+        if (ParallelEvaluation.isParallel(ctx, ctx.jsonProvider().length(model))) {
+            walkArrayInParallel(pt, currentPath, model, ctx, predicate);
+            return;
+        }
         Iterable<?> models = ctx.jsonProvider().toIterable(model);
         int idx = 0;
         for (Object evalModel : models) {
-            String evalPath = currentPath + "[" + idx + "]";
+            PathSegment evalPath = currentPath.index(idx);
             walk(pt, evalPath, PathRef.create(model, idx), evalModel, ctx, predicate);
             idx++;
         }
     }
 
-    public static void walkObject(PathToken pt, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
+    private static void walkArrayInParallel(final PathToken pt, final PathSegment currentPath, final Object model, EvaluationContextImpl ctx, final Predicate predicate) {
+        final List<Object> models = new ArrayList<Object>();
+        for (Object evalModel : ctx.jsonProvider().toIterable(model)) {
+            models.add(evalModel);
+        }
+        ParallelEvaluation.evaluate(ctx, models.size(), new ParallelEvaluation.Task() {
+            @Override
+            public void evaluate(int idx, EvaluationContextImpl ctx) {
+                walk(pt, currentPath.index(idx), PathRef.create(model, idx), models.get(idx), ctx, predicate);
+            }
+        });
+    }
+
+    private static void evaluateArray(PathToken pt, PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+        if (pt.isLeaf()) {
+            pt.evaluate(currentPath, parent, model, ctx);
+        } else {
+            PathToken next = pt.next();
+            Iterable<?> models = ctx.jsonProvider().toIterable(model);
+            int idx = 0;
+            for (Object evalModel : models) {
+                PathSegment evalPath = currentPath.index(idx);
+                ctx.setUpstreamArrayIndex(next, idx);
+                next.evaluate(evalPath, parent, evalModel, ctx);
+                idx++;
+            }
+        }
+    }
+
+    public static void walkObject(PathToken pt, PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
 
-        if (predicate.matches(model)) {
+        if (predicate.matches(model, ctx)) {
             pt.evaluate(currentPath, parent, model, ctx);
         }
         Collection<String> properties = ctx.jsonProvider().getPropertyKeys(model);
 
+        if (ParallelEvaluation.isParallel(ctx, properties.size())) {
+            walkObjectInParallel(pt, currentPath, model, ctx, predicate, new ArrayList<String>(properties));
+            return;
+        }
         for (String property : properties) {
-            String evalPath = currentPath + "['" + property + "']";
+            PathSegment evalPath = currentPath.property(property);
             Object propertyModel = ctx.jsonProvider().getMapValue(model, property);
             if (propertyModel != JsonProvider.UNDEFINED) {
                 walk(pt, evalPath, PathRef.create(model, property), propertyModel, ctx, predicate);
@@ -87,15 +160,28 @@ public class ScanPathToken extends PathToken {
         }
     }
 
-    private static Predicate createScanPredicate(final PathToken target, final EvaluationContextImpl ctx) {
+    private static void walkObjectInParallel(final PathToken pt, final PathSegment currentPath, final Object model, EvaluationContextImpl ctx, final Predicate predicate, final List<String> properties) {
+        ParallelEvaluation.evaluate(ctx, properties.size(), new ParallelEvaluation.Task() {
+            @Override
+            public void evaluate(int index, EvaluationContextImpl ctx) {
+                String property = properties.get(index);
+                Object propertyModel = ctx.jsonProvider().getMapValue(model, property);
+                if (propertyModel != JsonProvider.UNDEFINED) {
+                    walk(pt, currentPath.property(property), PathRef.create(model, property), propertyModel, ctx, predicate);
+                }
+            }
+        });
+    }
+
+    private static Predicate createScanPredicate(final PathToken target) {
         if (target instanceof PropertyPathToken) {
-            return new PropertyPathTokenPredicate(target, ctx);
+            return new PropertyPathTokenPredicate(target);
         } else if (target instanceof ArrayPathToken) {
-            return new ArrayPathTokenPredicate(ctx);
+            return new ArrayPathTokenPredicate();
         } else if (target instanceof WildcardPathToken) {
             return new WildcardPathTokenPredicate();
         } else if (target instanceof PredicatePathToken) {
-            return new FilterPathTokenPredicate(target, ctx);
+            return new FilterPathTokenPredicate(target);
         } else {
             return FALSE_PREDICATE;
         }
@@ -112,65 +198,68 @@ public class ScanPathToken extends PathToken {
         return "..";
     }
 
+    /**
+     * Decides if the target token is evaluated on a node. Predicates are shared by the forks of a parallel scan,
+     * they use the context they are handed and keep no state.
+     */
     private interface Predicate {
-        boolean matches(Object model);
+        boolean matches(Object model, EvaluationContextImpl ctx);
     }
 
     private static final Predicate FALSE_PREDICATE = new Predicate() {
 
         @Override
-        public boolean matches(Object model) {
+        public boolean matches(Object model, EvaluationContextImpl ctx) {
             return false;
         }
     };
 
     private static final class FilterPathTokenPredicate implements Predicate {
-        private final EvaluationContextImpl ctx;
-        private PredicatePathToken predicatePathToken;
+        private final PredicatePathToken predicatePathToken;
 
-        private FilterPathTokenPredicate(PathToken target, EvaluationContextImpl ctx) {
-            this.ctx = ctx;
+        private FilterPathTokenPredicate(PathToken target) {
             predicatePathToken = (PredicatePathToken) target;
         }
 
         @Override
-        public boolean matches(Object model) {
-            return predicatePathToken.accept(model, ctx.rootDocument(), ctx.configuration(), ctx);
+        public boolean matches(Object model, EvaluationContextImpl ctx) {
+            return predicatePathToken.accept(model, ctx);
         }
     }
 
     private static final class WildcardPathTokenPredicate implements Predicate {
 
         @Override
-        public boolean matches(Object model) {
+        public boolean matches(Object model, EvaluationContextImpl ctx) {
             return true;
         }
     }
 
     private static final class ArrayPathTokenPredicate implements Predicate {
-        private final EvaluationContextImpl ctx;
-
-        private ArrayPathTokenPredicate(EvaluationContextImpl ctx) {
-            this.ctx = ctx;
-        }
 
         @Override
-        public boolean matches(Object model) {
+        public boolean matches(Object model, EvaluationContextImpl ctx) {
             return ctx.jsonProvider().isArray(model);
         }
     }
 
     private static final class PropertyPathTokenPredicate implements Predicate {
-        private final EvaluationContextImpl ctx;
-        private PropertyPathToken propertyPathToken;
+        private final PropertyPathToken propertyPathToken;
 
-        private PropertyPathTokenPredicate(PathToken target, EvaluationContextImpl ctx) {
-            this.ctx = ctx;
+        private PropertyPathTokenPredicate(PathToken target) {
             propertyPathToken = (PropertyPathToken) target;
         }
 
+        /**
+         * @return true if only objects having the properties of the token can match
+         */
+        private boolean requiresProperties(EvaluationContextImpl ctx) {
+            return propertyPathToken.isTokenDefinite()
+                    && !(propertyPathToken.isLeaf() && ctx.options().contains(Option.DEFAULT_PATH_LEAF_TO_NULL));
+        }
+
         @Override
-        public boolean matches(Object model) {
+        public boolean matches(Object model, EvaluationContextImpl ctx) {
 
             if (! ctx.jsonProvider().isMap(model)) {
                 return false;
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.InvalidJsonException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigInteger;
+
+/**
+ * A minimal pull reader over json text used by {@link StreamingPathEvaluator}. It hands out one character or
+ * scalar at a time and can skip whole values without building them.
+ */
+final class StreamingJsonReader {
+
+    static final int EOF = -1;
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder scratch = new StringBuilder();
+    private int pos;
+    private int limit;
+    private long offset;
+
+    StreamingJsonReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return the next character that is not whitespace, consuming it, or {@link #EOF}
+     */
+    int nextNonWhitespace() {
+        while (true) {
+            if (pos == limit && !fill()) {
+                return EOF;
+            }
+            char c = buffer[pos++];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+        }
+    }
+
+    void expect(char expected) {
+        int c = nextNonWhitespace();
+        if (c != expected) {
+            throw unexpected(c, "'" + expected + "'");
+        }
+    }
+
+    /**
+     * Reads the rest of a string whose opening quote has been consumed.
+     */
+    String readString() {
+        scratch.setLength(0);
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return scratch.toString();
+            }
+            if (c == '\\') {
+                scratch.append(readEscape());
+            } else {
+                scratch.append(c);
+            }
+        }
+    }
+
+    /**
+     * Skips the rest of a string whose opening quote has been consumed.
+     */
+    void skipString() {
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                next();
+            }
+        }
+    }
+
+    /**
+     * Reads the rest of a number whose first character has been consumed.
+     */
+    Number readNumber(char first) {
+        scratch.setLength(0);
+        scratch.append(first);
+        boolean decimal = false;
+        while (pos < limit || fill()) {
+            char c = buffer[pos];
+            if ((c >= '0' && c <= '9') || c == '-' || c == '+') {
+                scratch.append(c);
+            } else if (c == '.' || c == 'e' || c == 'E') {
+                scratch.append(c);
+                decimal = true;
+            } else {
+                break;
+            }
+            pos++;
+        }
+        String number = scratch.toString();
+        try {
+            if (decimal) {
+                return Double.valueOf(number);
+            }
+            long value = Long.parseLong(number);
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            try {
+                return new BigInteger(number);
+            } catch (NumberFormatException invalid) {
+                throw new InvalidJsonException("Invalid number '" + number + "' at offset " + offset());
+            }
+        }
+    }
+
+    /**
+     * Reads the rest of <code>true</code>, <code>false</code> or <code>null</code> whose first character has been
+     * consumed.
+     */
+    Object readLiteral(char first) {
+        switch (first) {
+            case 't':
+                expectLiteral("rue");
+                return Boolean.TRUE;
+            case 'f':
+                expectLiteral("alse");
+                return Boolean.FALSE;
+            case 'n':
+                expectLiteral("ull");
+                return null;
+            default:
+                throw unexpected(first, "a json value");
+        }
+    }
+
+    /**
+     * Skips a value whose first character has been consumed.
+     */
+    void skipValue(int first) {
+        if (first == '"') {
+            skipString();
+        } else if (first == '{' || first == '[') {
+            int depth = 1;
+            while (depth > 0) {
+                char c = next();
+                if (c == '"') {
+                    skipString();
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+            }
+        } else if (first == '-' || (first >= '0' && first <= '9')) {
+            readNumber((char) first);
+        } else if (first == EOF) {
+            throw unexpected(first, "a json value");
+        } else {
+            readLiteral((char) first);
+        }
+    }
+
+    InvalidJsonException unexpected(int c, String expected) {
+        String found = c == EOF ? "end of input" : "'" + (char) c + "'";
+        return new InvalidJsonException("Expected " + expected + " but found " + found + " at offset " + offset());
+    }
+
+    private void expectLiteral(String rest) {
+        for (int i = 0; i < rest.length(); i++) {
+            char c = next();
+            if (c != rest.charAt(i)) {
+                throw unexpected(c, "'" + rest.charAt(i) + "'");
+            }
+        }
+    }
+
+    private char readEscape() {
+        char c = next();
+        switch (c) {
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(next(), 16);
+                    if (digit < 0) {
+                        throw new InvalidJsonException("Invalid unicode escape at offset " + offset());
+                    }
+                    code = (code << 4) + digit;
+                }
+                return (char) code;
+            default:
+                return c;
+        }
+    }
+
+    private char next() {
+        if (pos == limit && !fill()) {
+            throw new InvalidJsonException("Unexpected end of input at offset " + offset());
+        }
+        return buffer[pos++];
+    }
+
+    private long offset() {
+        return offset + pos;
+    }
+
+    private boolean fill() {
+        try {
+            offset += limit;
+            pos = 0;
+            limit = 0;
+            int read = reader.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                return false;
+            }
+            limit = read;
+            return true;
+        } catch (IOException e) {
+            throw new InvalidJsonException(e);
+        }
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.EvaluationListener;
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.internal.EvaluationAbortException;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Evaluates a path while reading json text, without building the document first. Only the values matched by the
+ * path are built, everything else is skipped as it is read.
+ *
+ * Supported are properties, non negative array indexes and slices, wildcards and deep scans. Filters, functions,
+ * negative indexes and slices and merging multiple properties into one object need to look at parts of the document
+ * that have already been read or not yet been read, paths using them are rejected with an
+ * {@link InvalidPathException}.
+ *
+ * Matches are reported in document order, the order in which their values start in the json text. For deep scans
+ * this can differ from the order of {@link com.jayway.jsonpath.JsonPath#read(Object)}, which reports the matches
+ * directly below an object before the matches further down.
+ */
+public final class StreamingPathEvaluator {
+
+    private static final int MAX_STEPS = 62;
+
+    private final String path;
+    private final Step[] steps;
+    private final long matchState;
+
+    private StreamingPathEvaluator(String path, Step[] steps) {
+        this.path = path;
+        this.steps = steps;
+        this.matchState = 1L << steps.length;
+    }
+
+    /**
+     * @param path the path to evaluate
+     * @return an evaluator for the path
+     * @throws InvalidPathException if the path can not be evaluated while streaming
+     */
+    public static StreamingPathEvaluator create(Path path) {
+        if (!(path instanceof CompiledPath)) {
+            throw new InvalidPathException("Path " + path + " can not be evaluated on a stream");
+        }
+        RootPathToken root = ((CompiledPath) path).getRoot();
+        if (root.isFunctionPath()) {
+            throw unsupported(path, "functions are applied to the complete result");
+        }
+        List<Step> steps = new ArrayList<Step>();
+        boolean scan = false;
+        for (PathToken token = root; !token.isLeaf(); ) {
+            token = token.next();
+            if (token instanceof ScanPathToken) {
+                scan = true;
+                continue;
+            }
+            steps.add(createStep(path, token, scan));
+            scan = false;
+        }
+        if (steps.size() > MAX_STEPS) {
+            throw unsupported(path, "it has more than " + MAX_STEPS + " steps");
+        }
+        return new StreamingPathEvaluator(path.toString(), steps.toArray(new Step[0]));
+    }
+
+    private static Step createStep(Path path, PathToken token, boolean scan) {
+        if (token instanceof PropertyPathToken) {
+            PropertyPathToken propertyToken = (PropertyPathToken) token;
+            if (propertyToken.multiPropertyMergeCase()) {
+                throw unsupported(path, "merging multiple properties into one object needs all of them");
+            }
+            return new Step(scan, propertyToken.getProperties(), null, 0, 0, false);
+        } else if (token instanceof ArrayIndexToken) {
+            List<Integer> indexes = ((ArrayIndexToken) token).getArrayIndexOperation().indexes();
+            int[] values = new int[indexes.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = indexes.get(i);
+                if (values[i] < 0) {
+                    throw unsupported(path, "negative array indexes need the length of the array");
+                }
+            }
+            return new Step(scan, null, values, 0, 0, false);
+        } else if (token instanceof ArraySliceToken) {
+            ArraySliceOperation operation = ((ArraySliceToken) token).getOperation();
+            int from = operation.from() == null ? 0 : operation.from();
+            int to = operation.to() == null ? Integer.MAX_VALUE : operation.to();
+            if (from < 0 || to < 0) {
+                throw unsupported(path, "negative slice bounds need the length of the array");
+            }
+            return new Step(scan, null, null, from, to, false);
+        } else if (token instanceof WildcardPathToken) {
+            return new Step(scan, null, null, 0, 0, true);
+        } else if (token instanceof PredicatePathToken) {
+            throw unsupported(path, "filters need the complete value they are applied to");
+        } else {
+            throw unsupported(path, "functions are applied to the complete result");
+        }
+    }
+
+    private static InvalidPathException unsupported(Path path, String reason) {
+        return new InvalidPathException(format("Path %s can not be evaluated on a stream, %s.", path, reason));
+    }
+
+    /**
+     * Reads the given json and reports every match to the listener. Returning
+     * {@link EvaluationListener.EvaluationContinuation#ABORT} from the listener stops reading.
+     *
+     * @param json the json text
+     * @param configuration configuration providing the {@link JsonProvider} used to build matched values
+     * @param listener listener notified of every match
+     */
+    public void evaluate(Reader json, Configuration configuration, EvaluationListener listener) {
+        new Evaluation(new StreamingJsonReader(json), configuration.jsonProvider(), listener).run();
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    private static final class Step {
+        private final boolean scan;
+        private final List<String> properties;
+        private final int[] indexes;
+        private final int from;
+        private final int to;
+        private final boolean wildcard;
+
+        private Step(boolean scan, List<String> properties, int[] indexes, int from, int to, boolean wildcard) {
+            this.scan = scan;
+            this.properties = properties;
+            this.indexes = indexes;
+            this.from = from;
+            this.to = to;
+            this.wildcard = wildcard;
+        }
+
+        private boolean matches(String property) {
+            return wildcard || (properties != null && properties.contains(property));
+        }
+
+        private boolean matches(int index) {
+            if (wildcard) {
+                return true;
+            }
+            if (properties != null) {
+                return false;
+            }
+            if (indexes != null) {
+                for (int i : indexes) {
+                    if (i == index) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            return index >= from && index < to;
+        }
+    }
+
+    private final class Evaluation {
+        private final StreamingJsonReader reader;
+        private final JsonProvider jsonProvider;
+        private final EvaluationListener listener;
+        private final List<Match> pending = new ArrayList<Match>();
+        private int pendingHead;
+        private int resultIndex;
+
+        private Evaluation(StreamingJsonReader reader, JsonProvider jsonProvider, EvaluationListener listener) {
+            this.reader = reader;
+            this.jsonProvider = jsonProvider;
+            this.listener = listener;
+        }
+
+        private void run() {
+            int first = reader.nextNonWhitespace();
+            if (first == StreamingJsonReader.EOF) {
+                throw new InvalidJsonException("Empty json input");
+            }
+            try {
+                child(first, 1L, PathSegment.root("$"), false);
+                int c = reader.nextNonWhitespace();
+                if (c != StreamingJsonReader.EOF) {
+                    throw reader.unexpected(c, "end of input");
+                }
+            } catch (EvaluationAbortException abort) {
+            }
+        }
+
+        /**
+         * Reads a value reached in the given states. The value is a match if the states include the match state,
+         * the remaining states apply to the children of the value. The value is built and returned if it is a match
+         * or part of one.
+         */
+        private Object child(int first, long states, PathSegment path, boolean build) {
+            Match match = null;
+            if ((states & matchState) != 0) {
+                match = new Match(path);
+                pending.add(match);
+                states &= ~matchState;
+                build = true;
+            }
+            Object value = value(first, states, path, build);
+            if (match != null) {
+                match.complete(value);
+                flush();
+            }
+            return value;
+        }
+
+        private Object value(int first, long states, PathSegment path, boolean build) {
+            if (states == 0 && !build) {
+                reader.skipValue(first);
+                return null;
+            }
+            switch (first) {
+                case '{':
+                    return object(states, path, build);
+                case '[':
+                    return array(states, path, build);
+                case '"':
+                    if (build) {
+                        return reader.readString();
+                    }
+                    reader.skipString();
+                    return null;
+                default:
+                    if (first == '-' || (first >= '0' && first <= '9')) {
+                        return reader.readNumber((char) first);
+                    }
+                    if (first == StreamingJsonReader.EOF) {
+                        throw reader.unexpected(first, "a json value");
+                    }
+                    return reader.readLiteral((char) first);
+            }
+        }
+
+        private Object object(long states, PathSegment path, boolean build) {
+            Object map = build ? jsonProvider.createMap() : null;
+            int c = reader.nextNonWhitespace();
+            if (c == '}') {
+                return map;
+            }
+            while (true) {
+                if (c != '"') {
+                    throw reader.unexpected(c, "a property name");
+                }
+                String property = reader.readString();
+                reader.expect(':');
+                long next = transition(states, property, -1);
+                Object value = child(reader.nextNonWhitespace(), next, next == 0 ? null : path.property(property), build);
+                if (build) {
+                    jsonProvider.setProperty(map, property, value);
+                }
+                c = reader.nextNonWhitespace();
+                if (c == ',') {
+                    c = reader.nextNonWhitespace();
+                } else if (c == '}') {
+                    return map;
+                } else {
+                    throw reader.unexpected(c, "',' or '}'");
+                }
+            }
+        }
+
+        private Object array(long states, PathSegment path, boolean build) {
+            Object array = build ? jsonProvider.createArray() : null;
+            int c = reader.nextNonWhitespace();
+            if (c == ']') {
+                return array;
+            }
+            int index = 0;
+            while (true) {
+                long next = transition(states, null, index);
+                Object value = child(c, next, next == 0 ? null : path.index(index), build);
+                if (build) {
+                    jsonProvider.setArrayIndex(array, index, value);
+                }
+                index++;
+                c = reader.nextNonWhitespace();
+                if (c == ',') {
+                    c = reader.nextNonWhitespace();
+                } else if (c == ']') {
+                    return array;
+                } else {
+                    throw reader.unexpected(c, "',' or ']'");
+                }
+            }
+        }
+
+        /**
+         * @return the states reached by a child with the given property, or index if the property is null
+         */
+        private long transition(long states, String property, int index) {
+            long next = 0;
+            for (long bits = states; bits != 0; bits &= bits - 1) {
+                int state = Long.numberOfTrailingZeros(bits);
+                Step step = steps[state];
+                if (property != null ? step.matches(property) : step.matches(index)) {
+                    next |= 1L << (state + 1);
+                }
+                if (step.scan) {
+                    next |= 1L << state;
+                }
+            }
+            return next;
+        }
+
+        /**
+         * Reports the completed matches in the order they started, a match containing other matches completes
+         * after them.
+         */
+        private void flush() {
+            while (pendingHead < pending.size() && pending.get(pendingHead).complete) {
+                Match match = pending.get(pendingHead);
+                pending.set(pendingHead++, null);
+                EvaluationListener.EvaluationContinuation continuation = listener.resultFound(match.toFoundResult(resultIndex++));
+                if (continuation == EvaluationListener.EvaluationContinuation.ABORT) {
+                    throw new EvaluationAbortException();
+                }
+            }
+            if (pendingHead == pending.size()) {
+                pending.clear();
+                pendingHead = 0;
+            }
+        }
+    }
+
+    private static final class Match {
+        private final PathSegment path;
+        private Object value;
+        private boolean complete;
+
+        private Match(PathSegment path) {
+            this.path = path;
+        }
+
+        private void complete(Object value) {
+            this.value = value;
+            this.complete = true;
+        }
+
+        private EvaluationListener.FoundResult toFoundResult(final int index) {
+            final Object result = value;
+            return new EvaluationListener.FoundResult() {
+                @Override
+                public int index() {
+                    return index;
+                }
+
+                @Override
+                public String path() {
+                    return path.toString();
+                }
+
+                @Override
+                public Object result() {
+                    return result;
+                }
+            };
+        }
+    }
+}
@@ -14,7 +14,10 @@
  */
 package com.jayway.jsonpath.internal.path;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.PathNotFoundException;
@@ -31,20 +34,45 @@ public class WildcardPathToken extends PathToken {
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(final PathSegment currentPath, PathRef parent, final Object model, EvaluationContextImpl ctx) {
         if (ctx.jsonProvider().isMap(model)) {
-            for (String property : ctx.jsonProvider().getPropertyKeys(model)) {
+            Collection<String> properties = ctx.jsonProvider().getPropertyKeys(model);
+            if (ParallelEvaluation.isParallel(ctx, properties.size())) {
+                final List<String> propertyList = new ArrayList<String>(properties);
+                ParallelEvaluation.evaluate(ctx, propertyList.size(), new ParallelEvaluation.Task() {
+                    @Override
+                    public void evaluate(int index, EvaluationContextImpl ctx) {
+                        handleObjectProperty(currentPath, model, ctx, Collections.singletonList(propertyList.get(index)));
+                    }
+                });
+                return;
+            }
+            for (String property : properties) {
                 handleObjectProperty(currentPath, model, ctx, Collections.singletonList(property));
             }
         } else if (ctx.jsonProvider().isArray(model)) {
-            for (int idx = 0; idx < ctx.jsonProvider().length(model); idx++) {
-                try {
-                    handleArrayIndex(idx, currentPath, model, ctx);
-                } catch (PathNotFoundException p){
-                    if(ctx.options().contains(Option.REQUIRE_PROPERTIES)){
-                        throw p;
+            int length = ctx.jsonProvider().length(model);
+            if (ParallelEvaluation.isParallel(ctx, length)) {
+                ParallelEvaluation.evaluate(ctx, length, new ParallelEvaluation.Task() {
+                    @Override
+                    public void evaluate(int idx, EvaluationContextImpl ctx) {
+                        evaluateIndex(idx, currentPath, model, ctx);
                     }
-                }
+                });
+                return;
+            }
+            for (int idx = 0; idx < length; idx++) {
+                evaluateIndex(idx, currentPath, model, ctx);
+            }
+        }
+    }
+
+    private void evaluateIndex(int idx, PathSegment currentPath, Object model, EvaluationContextImpl ctx) {
+        try {
+            handleArrayIndex(idx, currentPath, model, ctx);
+        } catch (PathNotFoundException p){
+            if(ctx.options().contains(Option.REQUIRE_PROPERTIES)){
+                throw p;
             }
         }
     }
@@ -8,6 +8,11 @@ import static com.jayway.jsonpath.internal.Utils.notNull;
 
 public class CacheProvider {
 
+    /**
+     * Capacity of the default cache.
+     */
+    public static final int DEFAULT_CAPACITY = 400;
+
     private static final AtomicReferenceFieldUpdater<CacheProvider, Cache> UPDATER =
         AtomicReferenceFieldUpdater.newUpdater(CacheProvider.class, Cache.class, "cache");
     private static final CacheProvider instance = new CacheProvider();
@@ -20,7 +25,7 @@ public class CacheProvider {
             Cache cache = CacheProvider.instance.cache;
             // the application is trying to use the cache
             // and if no external implementation has been registered,
-            // we need to initialise it to the default LRUCache
+            // we need to initialise it to the default ConcurrentLRUCache
             if (cache == null) {
                 cache = getDefaultCache();
                 // on the off chance that the cache implementation was registered during
@@ -45,9 +50,32 @@ public class CacheProvider {
         return CacheHolder.CACHE;
     }
 
+    /**
+     * Returns the statistics of the configured cache.
+     *
+     * @return a snapshot of the cache statistics or null if the configured cache is not an {@link InstrumentedCache}
+     */
+    public static CacheStats getStats() {
+        Cache cache = getCache();
+        return cache instanceof InstrumentedCache ? ((InstrumentedCache) cache).getStats() : null;
+    }
+
+    /**
+     * Changes the capacity of the configured cache.
+     *
+     * @param capacity the new capacity, must be greater than zero
+     * @throws JsonPathException if the configured cache is not an {@link InstrumentedCache}
+     */
+    public static void setCapacity(int capacity) {
+        Cache cache = getCache();
+        if (!(cache instanceof InstrumentedCache)) {
+            throw new JsonPathException("Cache " + cache.getClass().getName() + " can not be resized.");
+        }
+        ((InstrumentedCache) cache).setCapacity(capacity);
+    }
 
     private static Cache getDefaultCache(){
-        return new LRUCache(400);
+        return new ConcurrentLRUCache(DEFAULT_CAPACITY);
         //return new NOOPCache();
     }
 }
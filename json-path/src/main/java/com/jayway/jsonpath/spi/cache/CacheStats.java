@@ -0,0 +1,102 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.cache;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time snapshot of the statistics of an {@link InstrumentedCache}.
+ */
+public final class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long compileTimeNanos;
+    private final int size;
+    private final int capacity;
+
+    public CacheStats(long hitCount, long missCount, long evictionCount, long compileTimeNanos, int size, int capacity) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.compileTimeNanos = compileTimeNanos;
+        this.size = size;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return number of lookups that found a cached path
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return number of lookups that did not find a cached path
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * @return number of paths evicted to make room for others
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @param unit the unit to return the time in
+     * @return total time spent compiling paths that were not found in the cache
+     */
+    public long compileTime(TimeUnit unit) {
+        return unit.convert(compileTimeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return number of cached paths
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return maximum number of cached paths
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return ratio of lookups that found a cached path, 1.0 when there were no lookups
+     */
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", compileTimeNanos=" + compileTimeNanos +
+                ", size=" + size +
+                ", capacity=" + capacity +
+                '}';
+    }
+}
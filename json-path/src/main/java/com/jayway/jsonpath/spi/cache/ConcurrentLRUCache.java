@@ -0,0 +1,208 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.cache;
+
+import com.jayway.jsonpath.JsonPath;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.jayway.jsonpath.internal.Utils.isTrue;
+
+/**
+ * A bounded cache approximating LRU eviction with the CLOCK (second chance) algorithm.
+ *
+ * Lookups are a single {@link ConcurrentHashMap} read and never take a lock. A hit only sets the reference bit of
+ * the entry, and only when it is not already set. Insertions and evictions are serialized by a lock, they follow a
+ * miss which has to compile the path anyway.
+ */
+public class ConcurrentLRUCache implements InstrumentedCache {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final ConcurrentMap<String, Entry> map;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder compileTime = new LongAdder();
+
+    private volatile int limit;
+    private Entry[] ring;
+    private int filled;
+    private int hand;
+
+    public ConcurrentLRUCache(int limit) {
+        isTrue(limit > 0, "Cache limit must be greater than zero");
+        this.limit = limit;
+        this.map = new ConcurrentHashMap<String, Entry>(Math.min(limit, 1 << 16) * 4 / 3 + 1);
+        this.ring = new Entry[limit];
+    }
+
+    @Override
+    public JsonPath get(String key) {
+        Entry entry = map.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public void put(String key, JsonPath value) {
+        lock.lock();
+        try {
+            Entry entry = map.get(key);
+            if (entry != null) {
+                entry.value = value;
+                entry.referenced = true;
+                return;
+            }
+            int slot;
+            if (filled < limit) {
+                slot = filled++;
+            } else if (map.size() < limit) {
+                slot = freeSlot();
+            } else {
+                slot = evict();
+            }
+            entry = new Entry(key, value, slot);
+            ring[slot] = entry;
+            map.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Advances the clock hand past recently referenced entries, clearing their reference bit, and evicts the first
+     * entry that has not been referenced since the hand last passed it.
+     *
+     * @return the slot of the evicted entry
+     */
+    private int evict() {
+        while (true) {
+            int slot = hand;
+            hand = (hand + 1) % limit;
+            Entry candidate = ring[slot];
+            if (candidate == null) {
+                continue;
+            }
+            if (candidate.referenced) {
+                candidate.referenced = false;
+            } else {
+                map.remove(candidate.key);
+                ring[slot] = null;
+                evictions.increment();
+                return slot;
+            }
+        }
+    }
+
+    private int freeSlot() {
+        for (int slot = 0; slot < filled; slot++) {
+            if (ring[slot] == null) {
+                return slot;
+            }
+        }
+        throw new IllegalStateException("No free slot in a cache that is not full");
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), compileTime.sum(), map.size(), limit);
+    }
+
+    @Override
+    public void recordCompileTime(long nanos) {
+        compileTime.add(nanos);
+    }
+
+    @Override
+    public int getCapacity() {
+        return limit;
+    }
+
+    @Override
+    public void setCapacity(int capacity) {
+        isTrue(capacity > 0, "Cache limit must be greater than zero");
+        lock.lock();
+        try {
+            while (map.size() > capacity) {
+                evict();
+            }
+            Entry[] resized = new Entry[capacity];
+            int count = 0;
+            for (int i = 0; i < filled; i++) {
+                Entry entry = ring[(hand + i) % filled];
+                if (entry != null) {
+                    entry.slot = count;
+                    resized[count++] = entry;
+                }
+            }
+            ring = resized;
+            filled = count;
+            hand = 0;
+            limit = capacity;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public JsonPath getSilent(String key) {
+        Entry entry = map.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    public void remove(String key) {
+        lock.lock();
+        try {
+            Entry entry = map.remove(key);
+            if (entry != null) {
+                ring[entry.slot] = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public String toString() {
+        return map.keySet().toString();
+    }
+
+    private static final class Entry {
+        private final String key;
+        private int slot;
+        private volatile JsonPath value;
+        private volatile boolean referenced;
+
+        private Entry(String key, JsonPath value, int slot) {
+            this.key = key;
+            this.value = value;
+            this.slot = slot;
+        }
+    }
+}
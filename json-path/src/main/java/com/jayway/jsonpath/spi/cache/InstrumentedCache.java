@@ -0,0 +1,48 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.cache;
+
+/**
+ * Optional extension of {@link Cache} for caches that keep statistics and can be resized at runtime.
+ *
+ * @see CacheProvider#getStats()
+ * @see CacheProvider#setCapacity(int)
+ */
+public interface InstrumentedCache extends Cache {
+
+    /**
+     * @return a snapshot of the statistics of this cache
+     */
+    CacheStats getStats();
+
+    /**
+     * Records the time spent compiling a path after a lookup missed.
+     *
+     * @param nanos compile time in nanoseconds
+     */
+    void recordCompileTime(long nanos);
+
+    /**
+     * @return maximum number of cached paths
+     */
+    int getCapacity();
+
+    /**
+     * Changes the maximum number of cached paths, evicting paths if the cache holds more than the new capacity.
+     *
+     * @param capacity the new capacity, must be greater than zero
+     */
+    void setCapacity(int capacity);
+}
@@ -0,0 +1,45 @@
+package com.jayway.jsonpath.spi.function;
+
+import com.jayway.jsonpath.internal.function.PathFunction;
+import com.jayway.jsonpath.internal.function.PathFunctionFactory;
+
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
+
+/**
+ * Supplies functions that can be used in paths in addition to the built in ones, like "$.prices.median()".
+ *
+ * Providers are found with the {@link ServiceLoader}, listed in
+ * <code>META-INF/services/com.jayway.jsonpath.spi.function.PathFunctionProvider</code>, when the first function that
+ * is not built in is looked up. Functions can also be registered one by one with {@link #register(String, Supplier)}.
+ *
+ * Functions are bound to paths when the paths are compiled, a function registered after a path using it was compiled
+ * is bound when the path is first evaluated. Function instances are shared by all evaluations of a path and must not
+ * keep state between invocations.
+ *
+ * Note that this SPI relies on internal types: functions implement
+ * {@link com.jayway.jsonpath.internal.function.PathFunction}, receive their arguments as
+ * {@link com.jayway.jsonpath.internal.function.Parameter} (typed by
+ * {@link com.jayway.jsonpath.internal.function.ParamType}) and are evaluated against an
+ * {@link com.jayway.jsonpath.internal.EvaluationContext}. These types are not part of the public API and may change
+ * between releases without notice, providers may have to be updated along with the library.
+ */
+public interface PathFunctionProvider {
+
+    /**
+     * @return the functions of this provider, by name
+     */
+    Map<String, Supplier<? extends PathFunction>> getFunctions();
+
+    /**
+     * Registers a function.
+     *
+     * @param name the name the function is invoked by in paths
+     * @param function creates the function
+     * @throws com.jayway.jsonpath.JsonPathException if a function of that name is already defined
+     */
+    static void register(String name, Supplier<? extends PathFunction> function) {
+        PathFunctionFactory.register(name, function);
+    }
+}
@@ -0,0 +1,130 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JsonSmartMappingProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeepScanIndexTest extends BaseTest {
+
+    private static final String[] SCANS = {
+            "$..author",
+            "$..display-price",
+            "$.store..display-price",
+            "$.store.book[1]..author",
+            "$..book[0]",
+            "$..book[*].title",
+            "$..book[?(@.isbn)].title",
+            "$..[?(@.category == 'fiction')].title",
+            "$..['author','title']",
+            "$..*",
+            "$..missing",
+            "$..book..author",
+            "$..book.length()"
+    };
+
+    public static Iterable<Configuration> configurations() {
+        return Configurations.configurations();
+    }
+
+    @ParameterizedTest
+    @MethodSource("configurations")
+    public void indexed_scans_match_walked_scans(Configuration conf) {
+        DocumentContext walked = JsonPath.using(conf).parse(JSON_DOCUMENT);
+        DocumentContext indexed = JsonPath.using(conf.addOptions(Option.INDEX_DEEP_SCANS)).parse(JSON_DOCUMENT);
+
+        for (int i = 0; i < 2; i++) {
+            for (String path : SCANS) {
+                // some providers do not implement equals for their containers
+                assertThat(String.valueOf((Object) indexed.read(path))).describedAs(path)
+                        .isEqualTo(String.valueOf((Object) walked.read(path)));
+            }
+        }
+    }
+
+    @Test
+    public void indexed_scans_report_the_same_paths() {
+        Configuration conf = JSON_SMART_CONFIGURATION.addOptions(Option.AS_PATH_LIST);
+        DocumentContext walked = JsonPath.using(conf).parse(JSON_DOCUMENT);
+        DocumentContext indexed = JsonPath.using(conf.addOptions(Option.INDEX_DEEP_SCANS)).parse(JSON_DOCUMENT);
+
+        for (String path : new String[]{"$..author", "$.store..display-price", "$..book[?(@.isbn)]", "$..*"}) {
+            assertThat((Object) indexed.read(path)).describedAs(path).isEqualTo(walked.read(path));
+        }
+    }
+
+    @Test
+    public void indexed_scans_honour_default_leaf_to_null() {
+        Configuration conf = JSON_SMART_CONFIGURATION.addOptions(Option.DEFAULT_PATH_LEAF_TO_NULL);
+        DocumentContext walked = JsonPath.using(conf).parse(JSON_DOCUMENT);
+        DocumentContext indexed = JsonPath.using(conf.addOptions(Option.INDEX_DEEP_SCANS)).parse(JSON_DOCUMENT);
+
+        assertThat((Object) indexed.read("$..isbn")).isEqualTo(walked.read("$..isbn"));
+    }
+
+    @Test
+    public void index_is_dropped_when_the_document_is_modified() {
+        DocumentContext context = JsonPath.using(JSON_SMART_CONFIGURATION.addOptions(Option.INDEX_DEEP_SCANS)).parse(JSON_DOCUMENT);
+        assertThat(context.<List<Object>>read("$..author")).hasSize(4);
+
+        context.put("$.store.bicycle", "author", "Unknown");
+        assertThat(context.<List<Object>>read("$..author")).hasSize(5).contains("Unknown");
+
+        context.add("$.store.book", new java.util.LinkedHashMap<String, Object>() {{
+            put("author", "Another");
+        }});
+        assertThat(context.<List<Object>>read("$..author")).hasSize(6).contains("Another");
+
+        context.delete("$.store.book[0]");
+        assertThat(context.<List<Object>>read("$..author")).hasSize(5).doesNotContain("Nigel Rees");
+    }
+
+    @Test
+    public void index_is_kept_by_functions_reading_the_document_and_dropped_by_append() {
+        final AtomicInteger reads = new AtomicInteger();
+        DocumentContext context = JsonPath.using(counting(reads)).parse(JSON_DOCUMENT);
+        context.read("$..author");
+
+        assertThat((Object) context.read("$..book.length()")).isEqualTo(4);
+        assertThat(context.<List<Object>>read("$..author.distinct()")).hasSize(4);
+        reads.set(0);
+        assertThat(context.<List<Object>>read("$..author")).hasSize(4);
+        assertThat(reads.get()).isEqualTo(4);
+
+        context.read("$.store.book.append({\"author\":\"Another\"})");
+        assertThat(context.<List<Object>>read("$..author")).hasSize(5).contains("Another");
+    }
+
+    @Test
+    public void repeated_property_scans_only_visit_objects_having_the_property() {
+        final AtomicInteger reads = new AtomicInteger();
+        DocumentContext context = JsonPath.using(counting(reads)).parse(JSON_DOCUMENT);
+        context.read("$..author");
+
+        reads.set(0);
+        List<String> authors = context.read("$..author");
+
+        assertThat(authors).containsExactly("Nigel Rees", "Evelyn Waugh", "Herman Melville", "J. R. R. Tolkien");
+        assertThat(reads.get()).isEqualTo(4);
+    }
+
+    private static Configuration counting(final AtomicInteger reads) {
+        return Configuration.builder()
+                .jsonProvider(new JsonSmartJsonProvider() {
+                    @Override
+                    public Object getMapValue(Object obj, String key) {
+                        reads.incrementAndGet();
+                        return super.getMapValue(obj, key);
+                    }
+                })
+                .mappingProvider(new JsonSmartMappingProvider())
+                .options(Option.INDEX_DEEP_SCANS)
+                .build();
+    }
+}
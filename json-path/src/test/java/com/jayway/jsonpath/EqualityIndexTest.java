@@ -0,0 +1,125 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JsonSmartMappingProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EqualityIndexTest extends BaseTest {
+
+    private static final String ITEMS = "{\"items\":[{\"k\":1},{\"k\":\"1\"},{\"k\":1.0},{\"k\":\"1.0\"},{\"k\":2}," +
+            "{\"k\":\"a\"},{\"k\":true},{\"k\":\"true\"},{\"k\":null},{},{\"k\":[1]},{\"k\":{\"a\":1}},3,\"a\"," +
+            "{\"k\":{\"x\":\"a\"}},{\"k\":12345678901234567890},{\"k\":\"a\",\"n\":5}],\"limit\":3}";
+
+    private static final String[] FILTERS = {
+            "$.items[?(@.k == 1)]",
+            "$.items[?(1 == @.k)]",
+            "$.items[?(@.k == '1')]",
+            "$.items[?(@.k == '1.0')]",
+            "$.items[?(@.k == 1.00)]",
+            "$.items[?(@.k == 'a')]",
+            "$.items[?(@.k == true)]",
+            "$.items[?(@.k == null)]",
+            "$.items[?(@.k == 'missing')]",
+            "$.items[?(@.k == 12345678901234567890)]",
+            "$.items[?(@.k.x == 'a')]",
+            "$.items[?(@.k in [1, 'a', 2])]",
+            "$.items[?(@.k in ['true', null])]",
+            "$.items[?(@.k == 'a' && @.n > 4)]",
+            "$.items[?(@.k == 'a' && @.n < $.limit)]",
+            "$.items[?(@.k == 'a' || @.k == 2)]"
+    };
+
+    public static Iterable<Configuration> configurations() {
+        return Configurations.configurations();
+    }
+
+    @ParameterizedTest
+    @MethodSource("configurations")
+    public void indexed_filters_match_scanned_filters(Configuration conf) {
+        DocumentContext scanned = JsonPath.using(conf).parse(ITEMS);
+        DocumentContext indexed = JsonPath.using(conf.addOptions(Option.INDEX_EQUALITY_FILTERS)).parse(ITEMS);
+
+        for (int i = 0; i < 2; i++) {
+            for (String filter : FILTERS) {
+                Object expected;
+                try {
+                    expected = scanned.read(filter);
+                } catch (RuntimeException e) {
+                    // some providers can not read nulls or big numbers
+                    assertThatThrownBy(() -> indexed.read(filter)).describedAs(filter).isInstanceOf(e.getClass());
+                    continue;
+                }
+                // some providers do not implement equals for their containers
+                assertThat(String.valueOf((Object) indexed.read(filter))).describedAs(filter)
+                        .isEqualTo(String.valueOf(expected));
+            }
+        }
+    }
+
+    @Test
+    public void indexed_filters_report_the_same_paths() {
+        Configuration conf = JSON_SMART_CONFIGURATION.addOptions(Option.AS_PATH_LIST, Option.SUPPRESS_EXCEPTIONS);
+        DocumentContext scanned = JsonPath.using(conf).parse(ITEMS);
+        DocumentContext indexed = JsonPath.using(conf.addOptions(Option.INDEX_EQUALITY_FILTERS)).parse(ITEMS);
+
+        for (String filter : FILTERS) {
+            assertThat((Object) indexed.read(filter)).describedAs(filter).isEqualTo(scanned.read(filter));
+        }
+    }
+
+    @Test
+    public void repeated_equality_filters_only_test_matching_items() {
+        final AtomicInteger reads = new AtomicInteger();
+        Configuration conf = Configuration.builder()
+                .jsonProvider(new JsonSmartJsonProvider() {
+                    @Override
+                    public Object getMapValue(Object obj, String key) {
+                        reads.incrementAndGet();
+                        return super.getMapValue(obj, key);
+                    }
+                })
+                .mappingProvider(new JsonSmartMappingProvider())
+                .options(Option.INDEX_EQUALITY_FILTERS)
+                .build();
+        DocumentContext context = JsonPath.using(conf).parse(lookup(1000));
+        context.read("$.lookup[?(@.id == 0)]");
+
+        reads.set(0);
+        List<String> names = context.read("$.lookup[?(@.id == 500)].name");
+
+        assertThat(names).containsExactly("entry-500");
+        assertThat(reads.get()).isLessThan(10);
+    }
+
+    @Test
+    public void index_is_dropped_when_the_document_is_modified() {
+        DocumentContext context = JsonPath.using(JSON_SMART_CONFIGURATION.addOptions(Option.INDEX_EQUALITY_FILTERS)).parse(ITEMS);
+        assertThat(context.<List<Object>>read("$.items[?(@.k == 2)]")).hasSize(1);
+
+        context.add("$.items", Collections.singletonMap("k", 2));
+        assertThat(context.<List<Object>>read("$.items[?(@.k == 2)]")).hasSize(2);
+
+        context.set("$.items[4].k", 4);
+        assertThat(context.<List<Object>>read("$.items[?(@.k == 2)]")).hasSize(1);
+    }
+
+    private static String lookup(int size) {
+        StringBuilder sb = new StringBuilder("{\"lookup\":[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i).append(",\"name\":\"entry-").append(i).append("\"}");
+        }
+        return sb.append("]}").toString();
+    }
+}
@@ -0,0 +1,140 @@
+package com.jayway.jsonpath;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ParallelEvaluationTest extends BaseTest {
+
+    private static final String DOCUMENT = document(500);
+
+    private static final String[] PATHS = {
+            "$..id",
+            "$.items[*].name",
+            "$.items[*].tags[*]",
+            "$..tags[1]",
+            "$..[?(@.id > 250)].name",
+            "$..items[*].owner.name",
+            "$.lookup.*",
+            "$..*",
+            "$..tags.length()"
+    };
+
+    @Test
+    public void parallel_evaluation_matches_sequential_evaluation() {
+        for (Configuration conf : Arrays.asList(JSON_SMART_CONFIGURATION, JACKSON_CONFIGURATION,
+                JSON_SMART_CONFIGURATION.addOptions(Option.AS_PATH_LIST))) {
+            DocumentContext sequential = JsonPath.using(conf).parse(DOCUMENT);
+            DocumentContext parallel = JsonPath.using(conf.parallelThreshold(8)).parse(DOCUMENT);
+
+            for (String path : PATHS) {
+                if (conf.containsOption(Option.AS_PATH_LIST) && path.endsWith("()")) {
+                    continue;
+                }
+                assertThat((Object) parallel.read(path)).describedAs(path).isEqualTo(sequential.read(path));
+            }
+        }
+    }
+
+    @Test
+    public void listeners_are_notified_in_document_order() {
+        List<String> sequential = new ArrayList<String>();
+        List<String> parallel = new ArrayList<String>();
+
+        JsonPath.using(JSON_SMART_CONFIGURATION).parse(DOCUMENT).withListeners(collect(sequential, -1)).read("$..name");
+        JsonPath.using(JSON_SMART_CONFIGURATION.parallelThreshold(8)).parse(DOCUMENT).withListeners(collect(parallel, -1)).read("$..name");
+
+        assertThat(parallel).hasSize(1000).isEqualTo(sequential);
+    }
+
+    @Test
+    public void listeners_can_abort_parallel_evaluation() {
+        List<String> found = new ArrayList<String>();
+        DocumentContext context = JsonPath.using(JSON_SMART_CONFIGURATION.parallelThreshold(8)).parse(DOCUMENT);
+
+        List<String> result = context.withListeners(collect(found, 3)).read("$.items[*].name");
+
+        assertThat(result).containsExactly("item-0", "item-1", "item-2");
+        assertThat(found).containsExactly("0 $['items'][0]['name']", "1 $['items'][1]['name']", "2 $['items'][2]['name']");
+    }
+
+    @Test
+    public void evaluations_with_listeners_stop_at_the_result_the_listeners_abort_at() {
+        AtomicInteger sequential = new AtomicInteger();
+        AtomicInteger parallel = new AtomicInteger();
+
+        List<Object> expected = JsonPath.using(JSON_SMART_CONFIGURATION).parse(DOCUMENT).limit(1).read("$.items[*].owner[?]", counting(sequential));
+        List<Object> result = JsonPath.using(JSON_SMART_CONFIGURATION.parallelThreshold(8)).parse(DOCUMENT).limit(1).read("$.items[*].owner[?]", counting(parallel));
+
+        assertThat(result).hasSize(1).isEqualTo(expected);
+        assertThat(parallel.get()).isEqualTo(sequential.get());
+    }
+
+    @Test
+    public void parallel_evaluation_throws_like_sequential_evaluation() {
+        String json = "{\"items\":[{\"a\":1},{\"a\":2},{\"b\":3},{\"a\":4}]}";
+        Configuration conf = JSON_SMART_CONFIGURATION.addOptions(Option.REQUIRE_PROPERTIES).parallelThreshold(2);
+
+        assertThatThrownBy(() -> JsonPath.using(conf).parse(json).read("$.items[*].a"))
+                .isInstanceOf(PathNotFoundException.class)
+                .hasMessageContaining("$['items'][2]['a']");
+    }
+
+    @Test
+    public void threshold_is_kept_by_derived_configurations() {
+        Configuration conf = Configuration.builder().parallelThreshold(100).build();
+
+        assertThat(conf.getParallelThreshold()).isEqualTo(100);
+        assertThat(conf.addOptions(Option.SUPPRESS_EXCEPTIONS).getParallelThreshold()).isEqualTo(100);
+        assertThat(conf.setEvaluationListeners().getParallelThreshold()).isEqualTo(100);
+        assertThat(Configuration.defaultConfiguration().getParallelThreshold()).isEqualTo(0);
+        assertThatThrownBy(() -> Configuration.builder().parallelThreshold(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Predicate counting(final AtomicInteger evaluated) {
+        return new Predicate() {
+            @Override
+            public boolean apply(PredicateContext ctx) {
+                evaluated.incrementAndGet();
+                return true;
+            }
+        };
+    }
+
+    private static EvaluationListener collect(final List<String> found, final int limit) {
+        return new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult result) {
+                found.add(result.index() + " " + result.path());
+                return found.size() == limit ? EvaluationContinuation.ABORT : EvaluationContinuation.CONTINUE;
+            }
+        };
+    }
+
+    private static String document(int size) {
+        StringBuilder sb = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i)
+                    .append(",\"name\":\"item-").append(i).append('"')
+                    .append(",\"tags\":[\"a").append(i).append("\",\"b").append(i).append("\"]")
+                    .append(",\"owner\":{\"id\":").append(1000 + i).append(",\"name\":\"owner-").append(i).append("\"}}");
+        }
+        sb.append("],\"lookup\":{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("\"k").append(i).append("\":").append(i);
+        }
+        return sb.append("}}").toString();
+    }
+}
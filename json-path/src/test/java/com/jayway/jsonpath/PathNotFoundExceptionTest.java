@@ -0,0 +1,73 @@
+package com.jayway.jsonpath;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class PathNotFoundExceptionTest {
+
+    @Test
+    public void lazy_messages_are_formatted_when_read() {
+        final AtomicInteger formatted = new AtomicInteger();
+        Object path = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "$['a']";
+            }
+        };
+
+        PathNotFoundException exception = PathNotFoundException.withLazyMessage("Missing property in path %s", path);
+        assertThat(formatted.get()).isEqualTo(0);
+
+        assertThat(exception.getMessage()).isEqualTo("Missing property in path $['a']");
+        assertThat(exception.toString()).endsWith("Missing property in path $['a']");
+        assertThat(formatted.get()).isEqualTo(1);
+        assertThat(exception.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    public void evaluation_exceptions_reach_callers_with_their_message() {
+        assertThatThrownBy(() -> JsonPath.parse("{\"a\":{}}").read("$.a.b"))
+                .isExactlyInstanceOf(PathNotFoundException.class)
+                .hasMessage("No results for path: $['a']['b']");
+    }
+
+    @Test
+    public void messages_do_not_depend_on_the_document() {
+        DocumentContext context = JsonPath.parse("{\"a\":{\"b\":1}}");
+        Map<String, Object> a = context.read("$.a");
+
+        Throwable thrown = catchThrowable(() -> context.read("$.a[0]"));
+        a.put("c", "changed");
+
+        assertThat(thrown).isExactlyInstanceOf(PathNotFoundException.class);
+        assertThat(thrown.getMessage()).startsWith("Filter: [0] can only be applied to arrays. Current context is: ")
+                .doesNotContain("changed").doesNotContain("\"b\"");
+    }
+
+    @Test
+    public void lazy_messages_survive_serialization() throws Exception {
+        PathNotFoundException exception = PathNotFoundException.withLazyMessage("No results for path: %s", new Object() {
+            @Override
+            public String toString() {
+                return "$['x']";
+            }
+        });
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new ObjectOutputStream(bytes).writeObject(exception);
+        Object copy = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+        assertThat(((PathNotFoundException) copy).getMessage()).isEqualTo("No results for path: $['x']");
+    }
+}
@@ -0,0 +1,134 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JsonSmartMappingProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PathSetTest extends BaseTest {
+
+    private static final String[] PATHS = {
+            "$",
+            "$.store.book[*].author",
+            "$.store.book[*].title",
+            "$.store.book[2].isbn",
+            "$.store.book[1:3]['author','title']",
+            "$.store.book[?(@.display-price > 10)].title",
+            "$.store.book[?(@.display-price > 10)].author",
+            "$.store.book[?(@.display-price < 10)].title",
+            "$.store.book[0,2].category",
+            "$.store.*.color",
+            "$.store..display-price",
+            "$.store.book.length()",
+            "$..book[-1].title",
+            "$.store.bicycle",
+            "$.store.bicycle.color",
+            "$['store']['bicycle']['color']",
+            "$.int-max-property"
+    };
+
+    public static Iterable<Configuration> configurations() {
+        return Configurations.configurations();
+    }
+
+    @ParameterizedTest
+    @MethodSource("configurations")
+    public void read_all_matches_read(Configuration conf) {
+        DocumentContext context = JsonPath.using(conf).parse(JSON_DOCUMENT);
+
+        Map<String, Object> results = context.readAll(JsonPath.compileSet(PATHS));
+
+        assertThat(results.keySet()).containsExactly(PATHS);
+        for (String path : PATHS) {
+            // some providers do not implement equals for their containers
+            assertThat(String.valueOf(results.get(path))).describedAs(path).isEqualTo(String.valueOf((Object) context.read(path)));
+        }
+    }
+
+    @Test
+    public void read_all_honours_options() {
+        PathSet paths = JsonPath.compileSet("$.store.book[*].author", "$.store.book[0].missing", "$.store.missing.x",
+                "$.store.bicycle.color");
+        for (Option option : new Option[]{Option.SUPPRESS_EXCEPTIONS, Option.DEFAULT_PATH_LEAF_TO_NULL, Option.AS_PATH_LIST,
+                Option.ALWAYS_RETURN_LIST}) {
+            Configuration conf = JSON_SMART_CONFIGURATION.addOptions(option, Option.SUPPRESS_EXCEPTIONS);
+            DocumentContext context = JsonPath.using(conf).parse(JSON_DOCUMENT);
+
+            Map<String, Object> results = context.readAll(paths);
+
+            for (String path : paths.getPaths()) {
+                assertThat(results.get(path)).describedAs(option + " " + path).isEqualTo(context.read(path));
+            }
+        }
+    }
+
+    @Test
+    public void read_contexts_without_a_walk_of_their_own_read_the_paths_one_by_one() {
+        final ReadContext context = JsonPath.using(JSON_SMART_CONFIGURATION).parse(JSON_DOCUMENT);
+        ReadContext delegating = new ReadContext() {
+            public Configuration configuration() { return context.configuration(); }
+            public <T> T json() { return context.json(); }
+            public String jsonString() { return context.jsonString(); }
+            public <T> T read(String path, Predicate... filters) { return context.read(path, filters); }
+            public <T> T read(String path, Class<T> type, Predicate... filters) { return context.read(path, type, filters); }
+            public <T> T read(JsonPath path) { return context.read(path); }
+            public <T> T read(JsonPath path, Class<T> type) { return context.read(path, type); }
+            public <T> T read(JsonPath path, TypeRef<T> typeRef) { return context.read(path, typeRef); }
+            public <T> T read(String path, TypeRef<T> typeRef) { return context.read(path, typeRef); }
+            public ReadContext limit(int maxResults) { return context.limit(maxResults); }
+            public ReadContext withListeners(EvaluationListener... listener) { return context.withListeners(listener); }
+        };
+        PathSet paths = JsonPath.compileSet(PATHS);
+
+        assertThat(String.valueOf(delegating.readAll(paths))).isEqualTo(String.valueOf(context.readAll(paths)));
+    }
+
+    @Test
+    public void read_all_throws_the_exception_of_the_first_failing_path() {
+        DocumentContext context = JsonPath.using(JSON_SMART_CONFIGURATION).parse(JSON_DOCUMENT);
+        PathSet paths = JsonPath.compileSet("$.store.book[0].author", "$.store.missing.x", "$.store.book[0].missing");
+
+        assertThatThrownBy(() -> context.readAll(paths))
+                .isInstanceOf(PathNotFoundException.class)
+                .hasMessage("Missing property in path $['store']['missing']");
+    }
+
+    @Test
+    public void shared_prefixes_are_read_once() {
+        final AtomicInteger bookReads = new AtomicInteger();
+        Configuration conf = Configuration.builder()
+                .jsonProvider(new JsonSmartJsonProvider() {
+                    @Override
+                    public Object getMapValue(Object obj, String key) {
+                        if ("book".equals(key)) {
+                            bookReads.incrementAndGet();
+                        }
+                        return super.getMapValue(obj, key);
+                    }
+                })
+                .mappingProvider(new JsonSmartMappingProvider())
+                .build();
+        DocumentContext context = JsonPath.using(conf).parse(JSON_DOCUMENT);
+
+        Map<String, Object> results = context.readAll(JsonPath.compileSet(
+                "$.store.book[*].author", "$.store.book[*].title", "$.store.book[2].isbn", "$.store.bicycle.color"));
+
+        assertThat(bookReads.get()).isEqualTo(1);
+        assertThat(results.get("$.store.book[2].isbn")).isEqualTo("0-553-21311-3");
+        assertThat(results.get("$.store.bicycle.color")).isEqualTo("red");
+    }
+
+    @Test
+    public void path_sets_with_only_function_paths_are_read() {
+        Map<String, Object> results = JsonPath.parse(JSON_DOCUMENT).readAll(JsonPath.compileSet("$.store.book.length()"));
+
+        assertThat(results).containsEntry("$.store.book.length()", 4);
+    }
+}
@@ -0,0 +1,70 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JsonSmartMappingProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RootPathMemoTest extends BaseTest {
+
+    private static final String JSON = "{\"limit\":10,\"items\":[{\"price\":5},{\"price\":15},{\"price\":8},{\"price\":12}]}";
+
+    @Test
+    public void root_paths_are_read_once_per_document() {
+        final AtomicInteger limitReads = new AtomicInteger();
+        DocumentContext context = JsonPath.using(countingConfiguration(limitReads).addOptions(Option.MEMOIZE_ROOT_PATHS)).parse(JSON);
+
+        for (int i = 0; i < 3; i++) {
+            List<Integer> prices = context.read("$.items[?(@.price < $.limit)].price");
+            assertThat(prices).containsExactly(5, 8);
+        }
+        assertThat(limitReads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void root_paths_are_read_once_per_read_without_the_option() {
+        final AtomicInteger limitReads = new AtomicInteger();
+        DocumentContext context = JsonPath.using(countingConfiguration(limitReads)).parse(JSON);
+
+        for (int i = 0; i < 3; i++) {
+            context.read("$.items[?(@.price < $.limit)].price");
+        }
+        assertThat(limitReads.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void remembered_values_are_dropped_when_the_document_is_modified() {
+        DocumentContext context = JsonPath.using(JSON_SMART_CONFIGURATION.addOptions(Option.MEMOIZE_ROOT_PATHS)).parse(JSON);
+        assertThat(context.<List<Integer>>read("$.items[?(@.price < $.limit)].price")).containsExactly(5, 8);
+
+        context.set("$.limit", 13);
+
+        assertThat(context.<List<Integer>>read("$.items[?(@.price < $.limit)].price")).containsExactly(5, 8, 12);
+    }
+
+    @Test
+    public void deep_scan_filters_use_remembered_values() {
+        DocumentContext context = JsonPath.using(JSON_SMART_CONFIGURATION.addOptions(Option.MEMOIZE_ROOT_PATHS)).parse(JSON);
+
+        assertThat(context.<List<Integer>>read("$..[?(@.price > $.limit)].price")).containsExactly(15, 12);
+    }
+
+    private static Configuration countingConfiguration(final AtomicInteger limitReads) {
+        return Configuration.builder()
+                .jsonProvider(new JsonSmartJsonProvider() {
+                    @Override
+                    public Object getMapValue(Object obj, String key) {
+                        if ("limit".equals(key)) {
+                            limitReads.incrementAndGet();
+                        }
+                        return super.getMapValue(obj, key);
+                    }
+                })
+                .mappingProvider(new JsonSmartMappingProvider())
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.jayway.jsonpath;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StreamingReadTest extends BaseTest {
+
+    private static final String[] PATHS = {
+            "$",
+            "$.store.bicycle.color",
+            "$.store.book[1]",
+            "$.store.book[0,2].title",
+            "$.store.book[1:3].author",
+            "$.store.book[:2].author",
+            "$.store.book[2:].author",
+            "$.store.book[*].isbn",
+            "$.store.*",
+            "$..author",
+            "$..book[1].title",
+            "$.store..display-price",
+            "$['store']['bicycle']['escape']",
+            "$.int-max-property",
+            "$.long-max-property",
+            "$.null-property"
+    };
+
+    @Test
+    public void streaming_read_matches_read() {
+        for (Configuration conf : Arrays.asList(JSON_SMART_CONFIGURATION, JACKSON_CONFIGURATION)) {
+            for (String path : PATHS) {
+                Object expected = JsonPath.using(conf).parse(JSON_DOCUMENT).read(path);
+                Object actual = JsonPath.compile(path).readStream(stream(JSON_DOCUMENT), conf);
+                assertThat(actual).describedAs(path).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void streaming_path_list_matches_read() {
+        Configuration conf = JSON_SMART_CONFIGURATION.addOptions(Option.AS_PATH_LIST);
+        for (String path : new String[]{"$..author", "$.store.book[1:3]", "$.store.*"}) {
+            Object expected = JsonPath.using(conf).parse(JSON_DOCUMENT).read(path);
+            assertThat((Object) JsonPath.compile(path).readStream(stream(JSON_DOCUMENT), conf)).describedAs(path).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void nested_matches_are_reported_in_document_order() {
+        String json = "{\"a\":{\"b\":1,\"a\":{\"a\":2}},\"c\":[{\"a\":3}]}";
+        List<String> paths = new ArrayList<String>();
+        List<Object> values = JsonPath.compile("$..a").readStream(stream(json), JSON_SMART_CONFIGURATION);
+
+        JsonPath.compile("$..a").readStream(stream(json), JSON_SMART_CONFIGURATION, new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult found) {
+                paths.add(found.path());
+                return EvaluationContinuation.CONTINUE;
+            }
+        });
+
+        assertThat(paths).containsExactly("$['a']", "$['a']['a']", "$['a']['a']['a']", "$['c'][0]['a']");
+        assertThat(values.get(2)).isEqualTo(2);
+        assertThat(values.get(3)).isEqualTo(3);
+    }
+
+    @Test
+    public void listener_can_stop_reading() {
+        final List<Object> found = new ArrayList<Object>();
+        // the document is broken after the second element, reading must stop before that
+        String json = "[{\"id\":1},{\"id\":2},{\"id\":";
+
+        JsonPath.compile("$[*].id").readStream(stream(json), JSON_SMART_CONFIGURATION, new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult result) {
+                found.add(result.result());
+                return found.size() == 2 ? EvaluationContinuation.ABORT : EvaluationContinuation.CONTINUE;
+            }
+        });
+
+        assertThat(found).containsExactly(1, 2);
+    }
+
+    @Test
+    public void definite_path_stops_reading_at_its_match() {
+        // the document is broken after the match, reading must stop before that
+        String json = "{\"store\":{\"name\":\"x\",\"book\":[{\"id\":";
+
+        assertThat((String) JsonPath.compile("$.store.name").readStream(stream(json), JSON_SMART_CONFIGURATION)).isEqualTo("x");
+        assertThatThrownBy(() -> JsonPath.compile("$.store.name").readStream(stream(json), JSON_SMART_CONFIGURATION.addOptions(Option.ALWAYS_RETURN_LIST)))
+                .isInstanceOf(InvalidJsonException.class);
+    }
+
+    @Test
+    public void missing_definite_path_throws_unless_suppressed() {
+        assertThatThrownBy(() -> JsonPath.compile("$.store.missing").readStream(stream(JSON_DOCUMENT), JSON_SMART_CONFIGURATION))
+                .isInstanceOf(PathNotFoundException.class);
+
+        Configuration conf = JSON_SMART_CONFIGURATION.addOptions(Option.SUPPRESS_EXCEPTIONS);
+        assertThat((Object) JsonPath.compile("$.store.missing").readStream(stream(JSON_DOCUMENT), conf)).isNull();
+    }
+
+    @Test
+    public void paths_needing_look_back_are_rejected() {
+        for (String path : new String[]{"$.store.book[?(@.isbn)]", "$.store.book.length()", "$.store.book[-1]",
+                "$.store.book[-2:]", "$.store.book[0]['author','title']"}) {
+            assertThatThrownBy(() -> JsonPath.compile(path).readStream(stream(JSON_DOCUMENT), JSON_SMART_CONFIGURATION))
+                    .describedAs(path)
+                    .isInstanceOf(InvalidPathException.class)
+                    .hasMessageContaining("can not be evaluated on a stream");
+        }
+    }
+
+    @Test
+    public void invalid_json_is_reported() {
+        for (String json : new String[]{"", "{\"a\":}", "{\"a\":1", "[1 2]", "{\"a\":tru}", "{} {}"}) {
+            assertThatThrownBy(() -> JsonPath.compile("$..a").readStream(stream(json), JSON_SMART_CONFIGURATION))
+                    .describedAs(json)
+                    .isInstanceOf(InvalidJsonException.class);
+        }
+    }
+
+    @Test
+    public void skipped_values_are_not_parsed_into_the_result() {
+        String json = "{\"skip\":{\"deep\":[1,\"a\\\"]}\",{\"x\":null}],\"s\":\"\\u00e9\"},\"keep\":\"\\u00e9\\n\"}";
+
+        assertThat((String) JsonPath.compile("$.keep").readStream(stream(json), JSON_SMART_CONFIGURATION)).isEqualTo("\u00e9\n");
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
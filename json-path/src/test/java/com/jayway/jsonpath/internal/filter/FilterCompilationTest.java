@@ -0,0 +1,133 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Criteria;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.Filter;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.path.PredicateContextImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FilterCompilationTest extends BaseTest {
+
+    private static final String ITEMS = "[{\"v\":1},{\"v\":\"1\"},{\"v\":1.0},{\"v\":\"1.0\"},{\"v\":2},{\"v\":-3.5}," +
+            "{\"v\":\"a\"},{\"v\":\"b\"},{\"v\":\"\"},{\"v\":true},{\"v\":null},{},{\"v\":[1]},{\"v\":{\"a\":1}}," +
+            "{\"v\":12345678901234567890}]";
+
+    private static final RelationalOperator[] OPERATORS = {
+            RelationalOperator.EQ, RelationalOperator.TSEQ, RelationalOperator.NE, RelationalOperator.TSNE,
+            RelationalOperator.LT, RelationalOperator.LTE, RelationalOperator.GT, RelationalOperator.GTE
+    };
+
+    private static final ValueNode[] LITERALS = {
+            ValueNode.createNumberNode("1"),
+            ValueNode.createNumberNode("1.00"),
+            ValueNode.createNumberNode("-3.5"),
+            ValueNode.createNumberNode("12345678901234567890"),
+            ValueNode.createStringNode("1", false),
+            ValueNode.createStringNode("a", false),
+            ValueNode.createStringNode("", false),
+            ValueNode.createBooleanNode("true"),
+            ValueNode.createNullNode()
+    };
+
+    @Test
+    public void compiled_comparisons_match_evaluated_comparisons() {
+        Configuration conf = JSON_SMART_CONFIGURATION;
+        List<Object> items = (List<Object>) conf.jsonProvider().parse(ITEMS);
+
+        for (RelationalOperator operator : OPERATORS) {
+            for (ValueNode literal : LITERALS) {
+                ValueNode path = ValueNode.createPathNode("@.v", false, false);
+                RelationalExpressionNode[] expressions = {
+                        new RelationalExpressionNode(path, operator, literal),
+                        new RelationalExpressionNode(literal, operator, path)
+                };
+                for (RelationalExpressionNode expression : expressions) {
+                    Predicate compiled = expression.compile();
+                    for (Object item : items) {
+                        Predicate.PredicateContext ctx = new PredicateContextImpl(item, items, conf, new HashMap<>());
+                        assertThat(compiled.apply(ctx)).describedAs(expression + " on " + item)
+                                .isEqualTo(expression.apply(ctx));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void numbers_are_compared_with_literals_like_number_nodes() {
+        Number[] values = {0, -0.0d, 1, 1L, 1.0d, 1.5d, -3.5d, (short) 2, (byte) -1, (1L << 53) + 1, Long.MAX_VALUE,
+                1.5f, new BigDecimal("1.50"), new BigInteger("12345678901234567890")};
+        String[] literals = {"0", "1", "1.00", "1.5", "-3.5", "9007199254740993", "9223372036854775807",
+                "12345678901234567890", "0.1"};
+
+        for (String literal : literals) {
+            ValueNodes.NumberNode node = ValueNode.createNumberNode(literal);
+            for (Number value : values) {
+                assertThat(Integer.signum(ValueNodes.NumberNode.compare(value, node))).describedAs(value + " <> " + literal)
+                        .isEqualTo(Integer.signum(ValueNode.createNumberNode(value).compareTo(node)));
+            }
+        }
+    }
+
+    @Test
+    public void compiled_filters_select_matching_items() {
+        DocumentContext context = JsonPath.using(JSON_SMART_CONFIGURATION).parse(ITEMS);
+
+        assertThat(context.<List<Object>>read("$[?(@.v == 1)].v")).containsExactly(1, "1", 1.0);
+        assertThat(context.<List<Object>>read("$[?(@.v > 1 && 'b' > @.v)].v")).isEmpty();
+        assertThat(context.<List<Object>>read("$[?(@.v >= 'a' || -3.5 == @.v)].v")).containsExactly(-3.5, "a", "b");
+        assertThat(context.<List<Object>>read("$[?(!(@.v <= 1))].v")).hasSize(11).contains(2);
+    }
+
+    @Test
+    public void cheap_operands_are_moved_first() {
+        ExpressionNode regex = relational("@.name", RelationalOperator.REGEX, ValueNode.createPatternNode("/a.*/"));
+        ExpressionNode rootComparison = relational("@.price", RelationalOperator.LT, ValueNode.createPathNode("$.limit", false, false));
+        ExpressionNode in = relational("@.id", RelationalOperator.IN, ValueNode.createJsonNode("[1,2,3]"));
+        ExpressionNode equality = relational("@.category", RelationalOperator.EQ, ValueNode.createStringNode("fiction", false));
+
+        assertThat(LogicalExpressionNode.cheapestFirst(Arrays.asList(regex, rootComparison, in, equality)))
+                .containsExactly(equality, in, regex, rootComparison);
+    }
+
+    @Test
+    public void operands_that_may_fail_keep_their_place() {
+        ExpressionNode regex = relational("@.name", RelationalOperator.REGEX, ValueNode.createPatternNode("/a.*/"));
+        ExpressionNode function = relational("@.tags.length()", RelationalOperator.GT, ValueNode.createNumberNode("2"));
+        ExpressionNode anyOf = relational("@.tags", RelationalOperator.ANYOF, ValueNode.createJsonNode("['a']"));
+        ExpressionNode equality = relational("@.category", RelationalOperator.EQ, ValueNode.createStringNode("fiction", false));
+
+        assertThat(LogicalExpressionNode.cheapestFirst(Arrays.asList(regex, equality, function, anyOf, regex, equality)))
+                .containsExactly(equality, regex, function, anyOf, equality, regex);
+    }
+
+    @Test
+    public void criteria_are_compiled_again_when_changed() {
+        Criteria criteria = Criteria.where("v").is(1);
+        DocumentContext context = JsonPath.using(JSON_SMART_CONFIGURATION).parse(ITEMS);
+
+        assertThat(context.<List<Object>>read("$[?]", Filter.filter(criteria))).hasSize(3);
+
+        criteria.is("a");
+        assertThat(context.<List<Object>>read("$[?].v", Filter.filter(criteria))).containsExactly("a");
+
+        criteria.and("v").ne("a");
+        assertThat(context.<List<Object>>read("$[?]", Filter.filter(criteria))).isEmpty();
+    }
+
+    private static ExpressionNode relational(String path, RelationalOperator operator, ValueNode right) {
+        return new RelationalExpressionNode(ValueNode.createPathNode(path, false, false), operator, right);
+    }
+}
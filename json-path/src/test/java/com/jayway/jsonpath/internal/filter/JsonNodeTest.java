@@ -0,0 +1,66 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JsonSmartMappingProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonNodeTest extends BaseTest {
+
+    private static final String ITEMS = "[{\"id\":1,\"tags\":[\"a\",\"b\"],\"meta\":{\"x\":1}}," +
+            "{\"id\":2,\"tags\":[],\"meta\":{}},{\"id\":3,\"tags\":[\"a\"],\"meta\":{\"x\":2,\"y\":3}}]";
+
+    public static Iterable<Configuration> configurations() {
+        return Configurations.configurations();
+    }
+
+    @ParameterizedTest
+    @MethodSource("configurations")
+    public void containers_are_filtered_by_size_emptiness_and_content(Configuration conf) {
+        DocumentContext context = JsonPath.using(conf).parse(ITEMS);
+
+        assertThat(ids(context, "$[?(@.tags size 2)].id")).isEqualTo("[1]");
+        assertThat(ids(context, "$[?(@.meta size 2)].id")).isEqualTo("[]");
+        assertThat(ids(context, "$[?(@.tags empty true)].id")).isEqualTo("[2]");
+        assertThat(ids(context, "$[?(@.meta empty false)].id")).isEqualTo("[1,3]");
+        assertThat(ids(context, "$[?(@.tags == ['a'])].id")).isEqualTo("[3]");
+        assertThat(ids(context, "$[?(@.tags anyof ['b'])].id")).isEqualTo("[1]");
+    }
+
+    @Test
+    public void containers_are_only_mapped_when_their_content_is_compared() {
+        final AtomicInteger mapped = new AtomicInteger();
+        Configuration conf = Configuration.builder()
+                .jsonProvider(new JsonSmartJsonProvider())
+                .mappingProvider(new JsonSmartMappingProvider() {
+                    @Override
+                    public <T> T map(Object source, Class<T> targetType, Configuration configuration) {
+                        mapped.incrementAndGet();
+                        return super.map(source, targetType, configuration);
+                    }
+                })
+                .build();
+        DocumentContext context = JsonPath.using(conf).parse(ITEMS);
+
+        context.read("$[?(@.tags size 2 && @.meta empty false)]");
+        assertThat(mapped.get()).isEqualTo(0);
+
+        context.read("$[?(@.tags == ['a'])]");
+        assertThat(mapped.get()).isEqualTo(3);
+    }
+
+    private static String ids(DocumentContext context, String path) {
+        // some providers do not implement equals for their containers
+        return String.valueOf((Object) context.read(path)).replace(" ", "").replace(".0", "");
+    }
+}
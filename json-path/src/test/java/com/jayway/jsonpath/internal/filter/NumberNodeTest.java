@@ -0,0 +1,52 @@
+package com.jayway.jsonpath.internal.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NumberNodeTest {
+
+    private static final Number[] NUMBERS = {
+            0, -0.0, 1, 1L, 1.0, 1.5f, 0.1, 0.1f, -3, -3.5, 10, 9.999999999999999,
+            (byte) 7, (short) 7, 1e18, 1000000000000000000L, 9.223372036854775807E18, Integer.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, (1L << 53) + 1, 1e300, -1e-300,
+            new BigDecimal("0.10000000000000001"), new BigDecimal("1e30"), new BigInteger("123456789012345678901234567890")
+    };
+
+    private static final String[] LITERALS = {
+            "0", "1", "1.0", "1.00", "0.1", "0.10000000000000001", "-3.5", "10", "1E+1", "1e30",
+            "9223372036854775807", "9223372036854775808", "9007199254740993", "123456789012345678901234567890", "1e18", "-0.0", "7.00"
+    };
+
+    @Test
+    public void numbers_compare_like_decimals() {
+        List<ValueNodes.NumberNode> nodes = new ArrayList<ValueNodes.NumberNode>();
+        for (Number number : NUMBERS) {
+            nodes.add(ValueNode.createNumberNode(number));
+        }
+        for (String literal : LITERALS) {
+            nodes.add(ValueNode.createNumberNode(literal));
+        }
+
+        for (ValueNodes.NumberNode left : nodes) {
+            for (ValueNodes.NumberNode right : nodes) {
+                BigDecimal l = new BigDecimal(left.toString());
+                BigDecimal r = new BigDecimal(right.toString());
+                assertThat(left.compareTo(right)).describedAs(left + " <> " + right).isEqualTo(l.compareTo(r));
+                assertThat(left.equals(right)).describedAs(left + " == " + right).isEqualTo(l.compareTo(r) == 0);
+                assertThat(left.hashKey().equals(right.hashKey())).describedAs(left + " key " + right).isEqualTo(l.compareTo(r) == 0);
+            }
+        }
+    }
+
+    @Test
+    public void numbers_keep_their_decimal_form() {
+        assertThat(ValueNode.createNumberNode(10).getNumber()).isEqualTo(new BigDecimal("10"));
+        assertThat(ValueNode.createNumberNode(0.1f).toString()).isEqualTo("0.1");
+        assertThat(ValueNode.createNumberNode(2.50).asStringNode().getString()).isEqualTo("2.5");
+    }
+}
@@ -0,0 +1,50 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PatternNodeTest extends BaseTest {
+
+    private static final String[] PATTERNS = {
+            "/ORD-1/", "/^ORD-1$/", "/^ORD-.*/", "/ORD-.*$/", "/.*-1/", "/.*-1$/", "/.*RD.*/", "/^.*RD.*$/",
+            "/.*/", "/.*.*/", "/^$/", "/ORD\\-1/", "/ORD\\..*/", "/ORD\\$/", "/ord-.*/i", "/^ORD-.*/s",
+            "/.*RD.*/s", "/ORD-\\d/", "/O.D-1/", "/ORD-1|ORD-2/", "/ORD-1.*?/", "/\\QORD\\E.*/", "/^ORD-.*\\\\.*/"
+    };
+
+    private static final String[] INPUTS = {
+            "ORD-1", "ORD-12", "ord-1", "XORD-1", "ORD-", "ORD.1", "ORD$", "ORD", "", "ORD-1\n", "\nORD-1",
+            "ORD- ", "ORD-\\x", "1-1", "RD"
+    };
+
+    @Test
+    public void patterns_match_like_the_regex_engine() {
+        for (String pattern : PATTERNS) {
+            ValueNodes.PatternNode node = ValueNode.createPatternNode(pattern);
+            Pattern compiled = node.getCompiledPattern();
+            for (String input : INPUTS) {
+                assertThat(node.matches(input)).describedAs(pattern + " on " + input)
+                        .isEqualTo(compiled.matcher(input).matches());
+            }
+            ValueNodes.PatternNode fromPattern = ValueNode.createPatternNode(compiled);
+            for (String input : INPUTS) {
+                assertThat(fromPattern.matches(input)).describedAs(compiled + " on " + input)
+                        .isEqualTo(compiled.matcher(input).matches());
+            }
+        }
+    }
+
+    @Test
+    public void regex_filters_match_strings_and_other_values() {
+        String json = "[{\"id\":\"ORD-1\"},{\"id\":\"INV-2\"},{\"id\":12},{\"id\":true},{\"id\":[\"ORD-3\"]},{}]";
+
+        assertThat(JsonPath.parse(json).<List<Object>>read("$[?(@.id =~ /^ORD-.*/)].id")).hasSize(2);
+        assertThat(JsonPath.parse(json).<List<Object>>read("$[?(@.id =~ /1.*/)].id")).containsExactly(12);
+        assertThat(JsonPath.parse(json).<List<Object>>read("$[?(@.id =~ /tr.*/)].id")).containsExactly(true);
+    }
+}
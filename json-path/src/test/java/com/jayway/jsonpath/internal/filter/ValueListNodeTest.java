@@ -0,0 +1,62 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.jayway.jsonpath.internal.filter.ValueNodes.ValueListNode;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValueListNodeTest {
+
+    private static final List<Object> VALUES = Arrays.<Object>asList(
+            1, 2.5, "3", "4.0", "abc", "", true, null, new BigDecimal("1E+2"), 12345678901234567L, "7e0",
+            -0.0
+    );
+
+    private static final ValueNode[] PROBES = {
+            ValueNode.createNumberNode("1"), ValueNode.createNumberNode("1.0"), ValueNode.createNumberNode("2.50"),
+            ValueNode.createNumberNode("3"), ValueNode.createNumberNode("4"), ValueNode.createNumberNode("100"),
+            ValueNode.createNumberNode("7"), ValueNode.createNumberNode("0"), ValueNode.createNumberNode("8"),
+            ValueNode.createNumberNode(12345678901234567L), ValueNode.createNumberNode(100.0),
+            ValueNode.createStringNode("1", false), ValueNode.createStringNode("1.0", false),
+            ValueNode.createStringNode("2.5", false), ValueNode.createStringNode("1E+2", false),
+            ValueNode.createStringNode("100", false), ValueNode.createStringNode("abc", false),
+            ValueNode.createStringNode("", false), ValueNode.createStringNode("x", false),
+            ValueNode.createBooleanNode("true"), ValueNode.createBooleanNode("false"), ValueNode.createNullNode(),
+            ValueNode.createJsonNode("[1,2]")
+    };
+
+    @Test
+    public void indexed_lookups_match_list_lookups() {
+        ValueListNode list = new ValueListNode(VALUES);
+
+        for (ValueNode probe : PROBES) {
+            assertThat(list.contains(probe)).describedAs(probe.toString()).isEqualTo(list.getNodes().contains(probe));
+        }
+    }
+
+    @Test
+    public void large_in_filters_select_the_same_items() {
+        List<Object> ids = new ArrayList<Object>();
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 2000; i++) {
+            ids.add(i % 2 == 0 ? i : String.valueOf(i));
+            json.append(i == 0 ? "" : ",").append("{\"id\":").append(i * 3).append('}');
+        }
+        json.append(']');
+        String list = JsonPath.parse(ids).jsonString();
+
+        List<Integer> in = JsonPath.using(Configuration.defaultConfiguration()).parse(json.toString())
+                .read("$[?(@.id in " + list + ")].id");
+        List<Integer> nin = JsonPath.parse(json.toString()).read("$[?(@.id nin " + list + ")].id");
+
+        assertThat(in).hasSize(667).startsWith(0, 3, 6).endsWith(1998);
+        assertThat(nin).hasSize(1333).startsWith(2001);
+    }
+}
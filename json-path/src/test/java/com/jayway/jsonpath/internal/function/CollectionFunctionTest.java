@@ -0,0 +1,161 @@
+package com.jayway.jsonpath.internal.function;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.EvaluationListener;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test cases for functions
+ *
+ * -distinct
+ * -topK(n, path)
+ * -sortBy(path)
+ * -groupBy(path)
+ */
+public class CollectionFunctionTest extends BaseFunctionTest {
+
+    private static final String ITEMS = "{\"items\":[{\"id\":1,\"cat\":\"b\",\"price\":8.95},{\"id\":2,\"cat\":\"a\",\"price\":12.99}," +
+            "{\"id\":3,\"cat\":\"b\",\"price\":8.95},{\"id\":4,\"cat\":\"c\"},{\"id\":5,\"cat\":\"a\",\"price\":22.99}]," +
+            "\"tags\":[\"x\",\"y\",\"x\",\"z\",\"y\"],\"numbers\":[2,1,2.0,3,1],\"mixed\":[3,\"b\",1,\"a\",2.5,true]}";
+
+    public static Iterable<Configuration> configurations() {
+        return Configurations.configurations();
+    }
+
+    @ParameterizedTest
+    @MethodSource("configurations")
+    public void distinct_keeps_the_first_of_equal_items(Configuration conf) {
+        DocumentContext context = JsonPath.using(conf).parse(ITEMS);
+
+        assertThat(values(conf, context.read("$.tags.distinct()"))).isEqualTo("[x,y,z]");
+        assertThat(values(conf, context.read("$.numbers.distinct()"))).isEqualTo("[2,1,3]");
+        assertThat(ids(conf, context.read("$.items.distinct()"))).isEqualTo("[1,2,3,4,5]");
+    }
+
+    @ParameterizedTest
+    @MethodSource("configurations")
+    public void topK_takes_the_largest_keys(Configuration conf) {
+        DocumentContext context = JsonPath.using(conf).parse(ITEMS);
+
+        assertThat(ids(conf, context.read("$.items.topK(3, @.price)"))).isEqualTo("[5,2,1]");
+        assertThat(ids(conf, context.read("$.items.topK(10, @.price)"))).isEqualTo("[5,2,1,3]");
+        assertThat(ids(conf, context.read("$.items.topK(0, @.price)"))).isEqualTo("[]");
+        assertThat(values(conf, context.read("$.numbers.topK(2)"))).isEqualTo("[3,2]");
+    }
+
+    @ParameterizedTest
+    @MethodSource("configurations")
+    public void sortBy_keeps_the_order_of_equal_keys(Configuration conf) {
+        DocumentContext context = JsonPath.using(conf).parse(ITEMS);
+
+        assertThat(ids(conf, context.read("$.items.sortBy(@.price)"))).isEqualTo("[1,3,2,5,4]");
+        assertThat(ids(conf, context.read("$.items.sortBy(@.cat)"))).isEqualTo("[2,5,1,3,4]");
+        assertThat(values(conf, context.read("$.mixed.sortBy()"))).isEqualTo("[1,2.5,3,a,b,true]");
+    }
+
+    @ParameterizedTest
+    @MethodSource("configurations")
+    public void groupBy_collects_the_items_of_every_key(Configuration conf) {
+        Object groups = JsonPath.using(conf).parse(ITEMS).read("$.items.groupBy(@.cat)");
+        DocumentContext context = JsonPath.using(conf).parse(groups);
+
+        assertThat(ids(conf, context.read("$.b"))).isEqualTo("[1,3]");
+        assertThat(ids(conf, context.read("$.a"))).isEqualTo("[2,5]");
+        assertThat(ids(conf, context.read("$.c"))).isEqualTo("[4]");
+    }
+
+    @ParameterizedTest
+    @MethodSource("configurations")
+    public void objects_are_equal_whatever_the_order_of_their_properties(Configuration conf) {
+        String json = "{\"items\":[{\"id\":1,\"k\":{\"a\":1,\"b\":[1,2]}},{\"id\":2,\"k\":{\"b\":[1,2],\"a\":1.0}}," +
+                "{\"id\":3,\"k\":{\"a\":1,\"b\":[2,1]}},{\"id\":4,\"k\":\"{a:1}\"}]}";
+        DocumentContext context = JsonPath.using(conf).parse(json);
+        JsonProvider jsonProvider = conf.jsonProvider();
+
+        assertThat(jsonProvider.length(context.read("$..k.distinct()"))).isEqualTo(3);
+
+        Object groups = context.read("$.items.groupBy(@.k)");
+        assertThat(jsonProvider.getPropertyKeys(groups)).hasSize(3);
+        for (String name : jsonProvider.getPropertyKeys(groups)) {
+            Object group = jsonProvider.getMapValue(groups, name);
+            assertThat(ids(conf, group)).isIn("[1,2]", "[3]", "[4]");
+        }
+    }
+
+    @Test
+    public void numbers_are_equal_whatever_their_type() {
+        List<Object> numbers = Arrays.<Object>asList(new BigDecimal("1.50"), 1.5d, 1.5f, 2, 2.0d, new BigDecimal("2.00"),
+                new BigInteger("3"), 3L, 0.1f, new BigDecimal("0.1"), 0.1d);
+
+        List<Object> distinct = JsonPath.parse(numbers).read("$.distinct()");
+
+        assertThat(distinct).containsExactly(new BigDecimal("1.50"), 2, new BigInteger("3"), 0.1f);
+    }
+
+    @Test
+    public void groups_are_in_the_order_they_are_found() {
+        Object groups = JsonPath.parse(ITEMS).read("$.items.groupBy(@.cat)");
+
+        assertThat(Configuration.defaultConfiguration().jsonProvider().getPropertyKeys(groups)).containsExactly("b", "a", "c");
+    }
+
+    @Test
+    public void scans_are_ordered_and_grouped() {
+        Configuration conf = Configurations.JSON_SMART_CONFIGURATION;
+        Configuration collected = conf.addEvaluationListeners(new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult found) {
+                return EvaluationContinuation.CONTINUE;
+            }
+        });
+        for (Configuration configuration : new Configuration[]{conf, collected}) {
+            DocumentContext context = JsonPath.using(configuration).parse(ITEMS);
+
+            assertThat(values(configuration, context.read("$..cat.distinct()"))).isEqualTo("[b,a,c]");
+            assertThat(values(configuration, context.read("$..price.topK(2)"))).isEqualTo("[22.99,12.99]");
+            assertThat(values(configuration, context.read("$..price.sortBy()"))).isEqualTo("[8.95,8.95,12.99,22.99]");
+            assertThat(ids(configuration, context.read("$..items[*].topK(1, @.price)"))).isEqualTo("[5]");
+        }
+    }
+
+    @Test
+    public void keys_must_be_paths() {
+        assertThatThrownBy(() -> JsonPath.parse(ITEMS).read("$.items.sortBy(\"price\")"))
+                .isInstanceOf(JsonPathException.class)
+                .hasMessage("Parameter 1 of function sortBy must be a path like @.price");
+        assertThatThrownBy(() -> JsonPath.parse(ITEMS).read("$.items.topK(@.price)"))
+                .isInstanceOf(JsonPathException.class);
+    }
+
+    @Test
+    public void functions_applied_to_other_values_than_arrays_fail() {
+        assertThatThrownBy(() -> JsonPath.parse(ITEMS).read("$.items[0].distinct()"))
+                .isInstanceOf(JsonPathException.class)
+                .hasMessage("Function distinct can only be applied to an array");
+    }
+
+    private static String ids(Configuration conf, Object items) {
+        return values(conf, JsonPath.using(conf).parse(items).read("$[*].id"));
+    }
+
+    private static String values(Configuration conf, Object values) {
+        // some providers read numbers as decimals, and do not implement toString for their arrays
+        return String.valueOf(JsonPath.using(conf).parse(values).read("$[*]", List.class))
+                .replace(" ", "").replaceAll("(\\d)\\.0(?=[,\\]])", "$1").replace("\"", "");
+    }
+}
@@ -2,11 +2,16 @@ package com.jayway.jsonpath.internal.function;
 
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.JsonPathException;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
 /**
@@ -109,6 +114,25 @@ public class NumericPathFunctionTest extends BaseFunctionTest {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("configurations")
+    public void testAggregationsOfOneCompiledPathDoNotShareState(Configuration conf) {
+        DocumentContext context = JsonPath.using(conf).parse(NUMBER_SERIES);
+        for (String function : new String[]{"sum", "avg", "stddev", "min", "max"}) {
+            JsonPath path = JsonPath.compile("$.numbers." + function + "()");
+            Object first = context.read(path);
+            for (int i = 0; i < 3; i++) {
+                assertEquals(first, context.read(path), function);
+            }
+        }
+    }
+
+    @Test
+    public void testUnknownFunctionFailsWhenRead() {
+        JsonPath path = JsonPath.compile("$.numbers.foo()");
+        assertThrows(InvalidPathException.class, () -> JsonPath.parse(NUMBER_SERIES).read(path));
+    }
+
     /**
      * Expect that for an invalid function name we'll get back the original input to the function
      */
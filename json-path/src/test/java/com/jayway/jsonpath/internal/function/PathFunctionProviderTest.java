@@ -0,0 +1,130 @@
+package com.jayway.jsonpath.internal.function;
+
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.spi.function.PathFunctionProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PathFunctionProviderTest extends BaseFunctionTest {
+
+    private static final String JSON = "{\"numbers\":[4,1,3,1,2,4,4]}";
+
+    public static class DistinctCountProvider implements PathFunctionProvider {
+        @Override
+        public Map<String, Supplier<? extends PathFunction>> getFunctions() {
+            return Collections.<String, Supplier<? extends PathFunction>>singletonMap("distinctCount", DistinctCount::new);
+        }
+    }
+
+    public static class ConflictingProvider implements PathFunctionProvider {
+        @Override
+        public Map<String, Supplier<? extends PathFunction>> getFunctions() {
+            Map<String, Supplier<? extends PathFunction>> functions = new HashMap<String, Supplier<? extends PathFunction>>();
+            functions.put("distinctCount", Percentile::new);
+            functions.put("sum", Percentile::new);
+            functions.put("providedDistinctCount", DistinctCount::new);
+            return functions;
+        }
+    }
+
+    private static class DistinctCount implements PathFunction {
+        @Override
+        public Object invoke(String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
+            Set<Object> values = new HashSet<Object>();
+            for (Object value : ctx.configuration().jsonProvider().toIterable(model)) {
+                values.add(value);
+            }
+            return values.size();
+        }
+    }
+
+    private static class Percentile implements PathFunction {
+        @Override
+        public Object invoke(String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
+            List<Double> values = new ArrayList<Double>();
+            for (Object value : ctx.configuration().jsonProvider().toIterable(model)) {
+                values.add(((Number) value).doubleValue());
+            }
+            Collections.sort(values);
+            double percentile = Parameter.toList(Number.class, ctx, parameters).get(0).doubleValue();
+            return values.get((int) Math.ceil(percentile / 100 * values.size()) - 1);
+        }
+
+        @Override
+        public ParamType[] getParameterTypes() {
+            return new ParamType[]{ParamType.JSON};
+        }
+    }
+
+    @Test
+    public void functions_of_service_loaded_providers_can_be_used_in_paths() {
+        assertThat(JsonPath.parse(JSON).<Integer>read("$.numbers.distinctCount()")).isEqualTo(4);
+    }
+
+    @Test
+    public void providers_that_fail_to_load_or_define_functions_twice_are_skipped() {
+        // the services list a provider that does not exist, and one defining distinctCount and sum again
+        assertThat(JsonPath.parse(JSON).<Integer>read("$.numbers.distinctCount()")).isEqualTo(4);
+        assertThat(JsonPath.parse(JSON).<Double>read("$.numbers.sum()")).isEqualTo(19d);
+        assertThat(JsonPath.parse(JSON).<Integer>read("$.numbers.providedDistinctCount()")).isEqualTo(4);
+    }
+
+    @Test
+    public void registered_functions_can_be_used_in_paths() {
+        PathFunctionProvider.register("testPercentile", Percentile::new);
+
+        assertThat(JsonPath.parse(JSON).<Double>read("$.numbers.testPercentile(50)")).isEqualTo(3d);
+        assertThat(JsonPath.parse(JSON).<Double>read("$.numbers.testPercentile(100)")).isEqualTo(4d);
+    }
+
+    @Test
+    public void declared_parameters_are_checked_when_the_path_is_compiled() {
+        PathFunctionProvider.register("testDeclaredPercentile", Percentile::new);
+
+        assertThatThrownBy(() -> JsonPath.compile("$.numbers.testDeclaredPercentile()"))
+                .isInstanceOf(InvalidPathException.class);
+        assertThatThrownBy(() -> JsonPath.compile("$.numbers.testDeclaredPercentile($.limit)"))
+                .isInstanceOf(InvalidPathException.class);
+    }
+
+    @Test
+    public void functions_registered_after_a_path_is_compiled_are_bound_when_it_is_evaluated() {
+        JsonPath unchecked = JsonPath.compile("$.numbers.testLatePercentile()");
+        JsonPath checked = JsonPath.compile("$.numbers.testLatePercentile(50)");
+        assertThatThrownBy(() -> JsonPath.parse(JSON).read(checked)).isInstanceOf(InvalidPathException.class);
+
+        PathFunctionProvider.register("testLatePercentile", Percentile::new);
+
+        assertThat(JsonPath.parse(JSON).<Double>read(checked)).isEqualTo(3d);
+        assertThatThrownBy(() -> JsonPath.parse(JSON).read(unchecked))
+                .isInstanceOf(InvalidPathException.class)
+                .hasMessage("Function testLatePercentile takes 1 parameters, found 0");
+    }
+
+    @Test
+    public void functions_can_not_be_defined_twice() {
+        PathFunctionProvider.register("testTwice", DistinctCount::new);
+
+        assertThatThrownBy(() -> PathFunctionProvider.register("testTwice", DistinctCount::new))
+                .isInstanceOf(JsonPathException.class);
+        assertThatThrownBy(() -> PathFunctionProvider.register("sum", DistinctCount::new))
+                .isInstanceOf(JsonPathException.class);
+        assertThatThrownBy(() -> PathFunctionProvider.register("distinctCount", DistinctCount::new))
+                .isInstanceOf(JsonPathException.class);
+    }
+}
@@ -2,8 +2,18 @@ package com.jayway.jsonpath.internal.function;
 
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.EvaluationListener;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JsonSmartMappingProvider;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
 /**
  * Test cases for functions
  * 
@@ -50,4 +60,57 @@ public class SequentialPathFunctionTest extends BaseFunctionTest {
         verifyFunction(conf, "$.text.index(-1)", TEXT_SERIES, "f");
         verifyFunction(conf, "$.text.index(1)", TEXT_SERIES, "b");
     }
+
+    @Test
+    public void testIndexAtTheBounds() throws Exception {
+        verifyFunction(conf, "$.numbers.index(9)", NUMBER_SERIES, 10);
+        verifyFunction(conf, "$.numbers.index(-10)", NUMBER_SERIES, 1);
+        verifyFunction(conf, "$.one.last()", "{\"one\": [5]}", 5);
+        assertThatThrownBy(() -> JsonPath.using(conf).parse(NUMBER_SERIES).read("$.numbers.index(10)"))
+                .isInstanceOf(JsonPathException.class)
+                .hasMessage("Target index:10 larger than object count:10");
+        assertThatThrownBy(() -> JsonPath.using(conf).parse(NUMBER_SERIES).read("$.numbers.index(-11)"))
+                .isInstanceOf(JsonPathException.class)
+                .hasMessage("Target index:-11 larger than object count:10");
+    }
+
+    @Test
+    public void testSequenceOfScan() throws Exception {
+        Configuration collected = conf.addEvaluationListeners(new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult found) {
+                return EvaluationContinuation.CONTINUE;
+            }
+        });
+        for (Configuration configuration : new Configuration[]{conf, collected}) {
+            verifyFunction(configuration, "$..price.first()", EXAMPLE_SERIES, 8.95);
+            verifyFunction(configuration, "$..price.last()", EXAMPLE_SERIES, 19.95);
+            verifyFunction(configuration, "$..price.index(1)", EXAMPLE_SERIES, 12.99);
+            verifyFunction(configuration, "$..price.index(-2)", EXAMPLE_SERIES, 22.99);
+            assertThatThrownBy(() -> JsonPath.using(configuration).parse(EXAMPLE_SERIES).read("$..price.index(5)"))
+                    .hasMessage("Target index:5 larger than object count:5");
+        }
+    }
+
+    @Test
+    public void testScanStopsAtTheItem() throws Exception {
+        final AtomicInteger reads = new AtomicInteger();
+        Configuration counting = Configuration.builder()
+                .jsonProvider(new JsonSmartJsonProvider() {
+                    @Override
+                    public Object getMapValue(Object obj, String key) {
+                        reads.incrementAndGet();
+                        return super.getMapValue(obj, key);
+                    }
+                })
+                .mappingProvider(new JsonSmartMappingProvider())
+                .build();
+        Object document = counting.jsonProvider().parse(EXAMPLE_SERIES);
+
+        assertThat((Double) JsonPath.using(counting).parse(document).read("$..price.last()")).isEqualTo(19.95);
+        int scanned = reads.getAndSet(0);
+        assertThat((Double) JsonPath.using(counting).parse(document).read("$..price.first()")).isEqualTo(8.95);
+
+        assertThat(reads.get()).isLessThan(scanned / 2);
+    }
 }
@@ -0,0 +1,84 @@
+package com.jayway.jsonpath.internal.function;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.EvaluationListener;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JsonSmartMappingProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StreamingAggregationTest extends BaseTest {
+
+    private static final String[] PATHS = {
+            "$..['display-price'].sum()",
+            "$..['display-price'].avg()",
+            "$..['display-price'].min()",
+            "$..['display-price'].max()",
+            "$..['display-price'].stddev()",
+            "$..book[*]['display-price'].sum()",
+            "$..book.length()",
+            "$..book[*].length()",
+            "$..author.length()"
+    };
+
+    private static final EvaluationListener NO_OP = new EvaluationListener() {
+        @Override
+        public EvaluationContinuation resultFound(FoundResult found) {
+            return EvaluationContinuation.CONTINUE;
+        }
+    };
+
+    public static Iterable<Configuration> configurations() {
+        return Configurations.configurations();
+    }
+
+    @ParameterizedTest
+    @MethodSource("configurations")
+    public void streamed_aggregations_match_collected_aggregations(Configuration conf) {
+        // listeners must see every match, with a listener the matches are collected
+        DocumentContext collected = JsonPath.using(conf.addEvaluationListeners(NO_OP)).parse(JSON_DOCUMENT);
+        DocumentContext streamed = JsonPath.using(conf).parse(JSON_DOCUMENT);
+
+        for (String path : PATHS) {
+            assertThat(String.valueOf((Object) streamed.read(path))).describedAs(path)
+                    .isEqualTo(String.valueOf((Object) collected.read(path)));
+        }
+    }
+
+    @Test
+    public void streamed_aggregations_fail_on_no_numbers() {
+        assertThatThrownBy(() -> JsonPath.parse(JSON_DOCUMENT).read("$..author.sum()"))
+                .hasMessage("Aggregation function attempted to calculate value using empty array");
+    }
+
+    @Test
+    public void matches_are_not_collected() {
+        final AtomicInteger collected = new AtomicInteger();
+        Configuration conf = Configuration.builder()
+                .jsonProvider(new JsonSmartJsonProvider() {
+                    @Override
+                    public void setArrayIndex(Object array, int index, Object newValue) {
+                        collected.incrementAndGet();
+                        super.setArrayIndex(array, index, newValue);
+                    }
+                })
+                .mappingProvider(new JsonSmartMappingProvider())
+                .build();
+
+        Double sum = JsonPath.using(conf).parse(JSON_DOCUMENT).read("$..['display-price'].sum()");
+
+        assertThat(sum).isEqualTo(8.95 + 12.99 + 8.99 + 22.99 + 19.95);
+        // only the result of the function itself
+        assertThat(collected.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,107 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compiled paths are shared between threads, evaluating them concurrently against different documents must give
+ * the same results as evaluating them one at a time.
+ */
+public class CompiledPathConcurrencyTest extends BaseTest {
+
+    private static final int THREADS = 8;
+    private static final int DOCUMENTS = 16;
+    private static final int ITERATIONS = 500;
+
+    private static final JsonPath[] PATHS = {
+            JsonPath.compile("$.sum($..price)"),
+            JsonPath.compile("$.max($.store.book[*].price)"),
+            JsonPath.compile("$..book.length()"),
+            JsonPath.compile("$.store.book.length()"),
+            JsonPath.compile("$..[1].author"),
+            JsonPath.compile("$..book[?(@.price > 10)].title"),
+            JsonPath.compile("$.store.book[?(@.price < $.expensive)].author"),
+            JsonPath.compile("$.avg($.store.book[*].price, $.store.bicycle.price)")
+    };
+
+    @Test
+    public void compiled_paths_can_be_evaluated_concurrently() throws Exception {
+        final Configuration conf = JSON_SMART_CONFIGURATION;
+
+        final Object[] documents = new Object[DOCUMENTS];
+        final Object[][] expected = new Object[DOCUMENTS][PATHS.length];
+        for (int d = 0; d < DOCUMENTS; d++) {
+            documents[d] = conf.jsonProvider().parse(document(d + 1));
+            for (int p = 0; p < PATHS.length; p++) {
+                expected[d][p] = PATHS[p].read(documents[d], conf);
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (int t = 0; t < THREADS; t++) {
+                final int offset = t;
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        start.await();
+                        for (int i = 0; i < ITERATIONS; i++) {
+                            int d = (i + offset) % DOCUMENTS;
+                            int p = (i * 7 + offset) % PATHS.length;
+                            Object actual = PATHS[p].read(documents[d], conf);
+                            assertThat(actual).describedAs("%s on document %d", PATHS[p].getPath(), d).isEqualTo(expected[d][p]);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void repeated_evaluation_does_not_change_the_compiled_path() {
+        JsonPath path = JsonPath.compile("$..book.length()");
+        String before = path.getPath();
+
+        for (int d = 1; d <= 3; d++) {
+            assertThat((Integer) path.read(document(d))).isEqualTo(d);
+        }
+        assertThat(path.getPath()).isEqualTo(before);
+    }
+
+    private static String document(int books) {
+        StringBuilder sb = new StringBuilder("{\"store\":{\"book\":[");
+        for (int i = 0; i < books; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"author\":\"author-").append(books).append('-').append(i).append('"')
+                    .append(",\"title\":\"title-").append(i).append('"')
+                    .append(",\"price\":").append(books + i * 3)
+                    .append(",\"tags\":[\"a\",\"b\"]}");
+        }
+        sb.append("],\"bicycle\":{\"price\":").append(books * 2).append("}},\"expensive\":").append(books + 4).append('}');
+        return sb.toString();
+    }
+}
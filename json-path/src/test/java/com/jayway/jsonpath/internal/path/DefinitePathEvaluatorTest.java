@@ -0,0 +1,153 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.EvaluationListener;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DefinitePathEvaluatorTest extends BaseTest {
+
+    private static final String[] DEFINITE_PATHS = {
+            "$",
+            "$.store",
+            "$.store.book[1].author",
+            "$['store']['book'][-1]['display-price']",
+            "$.store.book[0]",
+            "$.store.bicycle.color",
+            "$.int-max-property",
+            "$.null-property",
+            "$.boolean-property"
+    };
+
+    public static Iterable<Configuration> configurations() {
+        return Configurations.configurations();
+    }
+
+    @ParameterizedTest
+    @MethodSource("configurations")
+    public void definite_read_matches_evaluation(Configuration conf) {
+        Object document = conf.jsonProvider().parse(JSON_DOCUMENT);
+        for (String p : DEFINITE_PATHS) {
+            final Path path = PathCompiler.compile(p);
+            Object expected;
+            try {
+                expected = path.evaluate(document, document, conf).getValue(false);
+            } catch (RuntimeException e) {
+                // some providers can not hand back a null through their arrays, the direct read must fail the same way
+                assertThatThrownBy(() -> path.readDefinite(document, conf)).describedAs(p).isInstanceOf(e.getClass());
+                continue;
+            }
+            assertThat(path.readDefinite(document, conf)).describedAs(p).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void indefinite_and_function_paths_are_not_read_directly() {
+        Object document = JSON_SMART_CONFIGURATION.jsonProvider().parse(JSON_DOCUMENT);
+        for (String p : new String[]{"$..author", "$.store.book[*]", "$.store.book[0,1]", "$.store.book[0:1]",
+                "$.store.book[?(@.price > 10)]", "$.store.book.length()", "$.store['book','bicycle']"}) {
+            assertThat(PathCompiler.compile(p).readDefinite(document, JSON_SMART_CONFIGURATION))
+                    .describedAs(p).isSameAs(JsonProvider.UNDEFINED);
+        }
+    }
+
+    @Test
+    public void missing_parts_are_left_to_evaluation() {
+        Object document = JSON_SMART_CONFIGURATION.jsonProvider().parse(JSON_DOCUMENT);
+        for (String p : new String[]{"$.missing", "$.store.book[99].author", "$.store.book[-99]",
+                "$.string-property.x", "$.store.bicycle[0]", "$.null-property.x"}) {
+            assertThat(PathCompiler.compile(p).readDefinite(document, JSON_SMART_CONFIGURATION))
+                    .describedAs(p).isSameAs(JsonProvider.UNDEFINED);
+        }
+    }
+
+    @Test
+    public void misses_are_evaluated_from_the_step_the_walk_stopped_at() {
+        Object document = JSON_SMART_CONFIGURATION.jsonProvider().parse(JSON_DOCUMENT);
+        for (Option option : new Option[]{null, Option.DEFAULT_PATH_LEAF_TO_NULL, Option.SUPPRESS_EXCEPTIONS, Option.REQUIRE_PROPERTIES}) {
+            Configuration conf = option == null ? JSON_SMART_CONFIGURATION : JSON_SMART_CONFIGURATION.addOptions(option);
+            for (String p : new String[]{"$.missing", "$.store.missing", "$.store.book[99].author", "$.store.book[1].missing",
+                    "$.string-property.x", "$.store.bicycle[0]", "$.null-property.x", "$.store.missing.x"}) {
+                final Path path = PathCompiler.compile(p);
+                Object expected;
+                try {
+                    expected = path.evaluate(document, document, conf).getValue(false);
+                } catch (PathNotFoundException e) {
+                    assertThatThrownBy(() -> ((EvaluationContext) path.readOrEvaluate(document, conf, null)).getValue(false))
+                            .describedAs(p).isInstanceOf(e.getClass()).hasMessage(e.getMessage());
+                    continue;
+                }
+                Object evaluated = path.readOrEvaluate(document, conf, null);
+                assertThat(evaluated).describedAs(p).isInstanceOf(EvaluationContext.class);
+                assertThat((Object) ((EvaluationContext) evaluated).getValue(false)).describedAs(p).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void values_are_not_handed_back_through_an_array_by_providers_that_keep_them() {
+        final AtomicInteger arrays = new AtomicInteger();
+        Configuration conf = Configuration.builder().jsonProvider(new JsonSmartJsonProvider() {
+            @Override
+            public Object createArray() {
+                arrays.incrementAndGet();
+                return super.createArray();
+            }
+        }).build();
+        Object document = conf.jsonProvider().parse(JSON_DOCUMENT);
+
+        assertThat(PathCompiler.compile("$.store.bicycle.color").readOrEvaluate(document, conf, null)).isEqualTo("red");
+        assertThat(PathCompiler.compile("$.store.book[1].author").readDefinite(document, conf)).isEqualTo("Evelyn Waugh");
+        assertThat(arrays.get()).isEqualTo(0);
+    }
+
+    @ParameterizedTest
+    @MethodSource("configurations")
+    public void definite_exists_matches_evaluation_with_required_properties(Configuration conf) {
+        Configuration required = Configuration.builder().jsonProvider(conf.jsonProvider()).options(Option.REQUIRE_PROPERTIES).build();
+        Object document = conf.jsonProvider().parse(JSON_DOCUMENT);
+        for (String p : new String[]{"$", "$.store.bicycle.color", "$.store.bicycle.isbn", "$.null-property",
+                "$.null-property.x", "$.string-property.x", "$.missing", "$.missing.x"}) {
+            Path path = PathCompiler.compile(p);
+            boolean expected;
+            try {
+                expected = path.evaluate(document, document, required).getValue(false) != JsonProvider.UNDEFINED;
+            } catch (PathNotFoundException e) {
+                expected = false;
+            } catch (RuntimeException e) {
+                // the provider can not hand back a null through its arrays
+                continue;
+            }
+            assertThat(path.existsDefinite(document, conf)).describedAs(p).isEqualTo(expected);
+        }
+        assertThat(PathCompiler.compile("$..author").existsDefinite(document, conf)).isNull();
+        assertThat(PathCompiler.compile("$.store.book[99]").existsDefinite(document, conf)).isNull();
+    }
+
+    @Test
+    public void paths_are_evaluated_when_listeners_are_registered() {
+        Configuration conf = JSON_SMART_CONFIGURATION.addEvaluationListeners(new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult found) {
+                return EvaluationContinuation.CONTINUE;
+            }
+        });
+        Object document = conf.jsonProvider().parse(JSON_DOCUMENT);
+
+        assertThat(PathCompiler.compile("$.store.bicycle.color").readDefinite(document, conf)).isSameAs(JsonProvider.UNDEFINED);
+    }
+}
@@ -0,0 +1,26 @@
+package com.jayway.jsonpath.internal.path;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PathSegmentTest {
+
+    @Test
+    public void segments_render_as_normalized_path() {
+        PathSegment root = PathSegment.root("$");
+        PathSegment path = root.property("store").property("book").index(-1).fragment(".length");
+
+        assertThat(root.toString()).isEqualTo("$");
+        assertThat(path.toString()).isEqualTo("$['store']['book'][-1].length");
+    }
+
+    @Test
+    public void segments_share_their_parent() {
+        PathSegment book = PathSegment.root("$").property("book");
+
+        assertThat(book.index(0).toString()).isEqualTo("$['book'][0]");
+        assertThat(book.index(1).toString()).isEqualTo("$['book'][1]");
+        assertThat(book.toString()).isEqualTo("$['book']");
+    }
+}
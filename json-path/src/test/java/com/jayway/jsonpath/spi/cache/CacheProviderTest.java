@@ -0,0 +1,27 @@
+package com.jayway.jsonpath.spi.cache;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CacheProviderTest {
+
+    @Test
+    public void default_cache_records_misses_hits_and_compile_time() {
+        String path = "$['a','" + UUID.randomUUID() + "']";
+        CacheStats before = CacheProvider.getStats();
+
+        JsonPath.parse("{\"a\":1}").read(path);
+        JsonPath.parse("{\"a\":1}").read(path);
+
+        CacheStats after = CacheProvider.getStats();
+        assertThat(after.missCount()).isGreaterThan(before.missCount());
+        assertThat(after.hitCount()).isGreaterThan(before.hitCount());
+        assertThat(after.compileTime(TimeUnit.NANOSECONDS)).isGreaterThan(before.compileTime(TimeUnit.NANOSECONDS));
+        assertThat(after.capacity()).isEqualTo(CacheProvider.DEFAULT_CAPACITY);
+    }
+}
@@ -0,0 +1,176 @@
+package com.jayway.jsonpath.spi.cache;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConcurrentLRUCacheTest {
+
+    private static final JsonPath DUMMY = JsonPath.compile("$");
+
+    @Test
+    public void cache_is_bounded() {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(200);
+        for (int i = 0; i < 1000; ++i) {
+            String key = String.valueOf(i);
+            cache.get(key);
+            cache.put(key, DUMMY);
+        }
+        assertThat(cache.size()).isEqualTo(200);
+    }
+
+    @Test
+    public void recently_used_entries_survive_eviction() {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(5);
+        for (int i = 1; i <= 5; i++) {
+            cache.put(String.valueOf(i), DUMMY);
+        }
+
+        cache.get("2");
+        cache.get("4");
+
+        cache.put("6", DUMMY);
+        cache.put("7", DUMMY);
+        cache.put("8", DUMMY);
+
+        assertThat(cache.getSilent("2")).isNotNull();
+        assertThat(cache.getSilent("4")).isNotNull();
+        assertThat(cache.getSilent("1")).isNull();
+        assertThat(cache.getSilent("3")).isNull();
+        assertThat(cache.getSilent("5")).isNull();
+        assertThat(cache.size()).isEqualTo(5);
+    }
+
+    @Test
+    public void put_replaces_existing_value() {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(2);
+        JsonPath other = JsonPath.compile("$.a");
+
+        cache.put("a", DUMMY);
+        cache.put("a", other);
+
+        assertThat(cache.get("a")).isSameAs(other);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void removed_slots_are_reused() {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(2);
+        cache.put("a", DUMMY);
+        cache.put("b", DUMMY);
+        cache.get("a");
+        cache.get("b");
+
+        cache.remove("a");
+        cache.put("c", DUMMY);
+
+        assertThat(cache.getSilent("a")).isNull();
+        assertThat(cache.getSilent("b")).isNotNull();
+        assertThat(cache.getSilent("c")).isNotNull();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void stats_count_hits_misses_and_evictions() {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(2);
+        cache.get("a");
+        cache.put("a", DUMMY);
+        cache.get("a");
+        cache.put("b", DUMMY);
+        cache.put("c", DUMMY);
+        cache.recordCompileTime(1500);
+
+        CacheStats stats = cache.getStats();
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.evictionCount()).isEqualTo(1);
+        assertThat(stats.compileTime(TimeUnit.NANOSECONDS)).isEqualTo(1500);
+        assertThat(stats.size()).isEqualTo(2);
+        assertThat(stats.capacity()).isEqualTo(2);
+        assertThat(stats.hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void shrinking_evicts_least_recently_used_entries() {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(4);
+        for (int i = 1; i <= 4; i++) {
+            cache.put(String.valueOf(i), DUMMY);
+        }
+        cache.get("3");
+
+        cache.setCapacity(1);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getSilent("3")).isNotNull();
+        assertThat(cache.getCapacity()).isEqualTo(1);
+        assertThat(cache.getStats().evictionCount()).isEqualTo(3);
+
+        cache.put("5", DUMMY);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void growing_keeps_entries() {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(2);
+        cache.put("a", DUMMY);
+        cache.put("b", DUMMY);
+
+        cache.setCapacity(3);
+        cache.put("c", DUMMY);
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.getStats().evictionCount()).isEqualTo(0);
+
+        cache.put("d", DUMMY);
+        assertThat(cache.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void limit_must_be_positive() {
+        assertThatThrownBy(() -> new ConcurrentLRUCache(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void cache_stays_bounded_under_concurrent_access() throws Exception {
+        final ConcurrentLRUCache cache = new ConcurrentLRUCache(64);
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (int t = 0; t < 8; t++) {
+                final int offset = t * 31;
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        start.await();
+                        for (int i = 0; i < 20000; i++) {
+                            String key = String.valueOf((i + offset) % 256);
+                            if (cache.get(key) == null) {
+                                cache.put(key, DUMMY);
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(cache.size()).isEqualTo(64);
+    }
+}